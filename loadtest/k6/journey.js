@@ -0,0 +1,159 @@
+// 회원가입 → 온보딩 → 채팅 → 대화 기반 일기 초안 → 일기 저장 → 주간 칭호 까지의 전체 여정
+//
+//   k6 run loadtest/k6/journey.js
+//   k6 run -e VUS=50 -e DURATION=5m -e CHAT_TURNS=6 -e STREAM=true loadtest/k6/journey.js
+//
+// 단계별 지연은 group 태그(::signup, ::chat ...)로 분리되어 p95/p99 가 출력된다.
+import http from 'k6/http';
+import { check, fail, group, sleep } from 'k6';
+import { Trend } from 'k6/metrics';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAILPIT_URL = __ENV.MAILPIT_URL || 'http://localhost:8025';
+const CHAT_TURNS = Number(__ENV.CHAT_TURNS || 4);
+const STREAM = (__ENV.STREAM || 'false') === 'true';
+const THINK_TIME = Number(__ENV.THINK_TIME || 1);
+
+const chatTurnDuration = new Trend('buddy_chat_turn_duration', true);
+const diaryDraftDuration = new Trend('buddy_diary_draft_duration', true);
+
+export const options = {
+    scenarios: {
+        journey: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 20) },
+                { duration: __ENV.DURATION || '3m', target: Number(__ENV.VUS || 20) },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '60s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{group:::signup}': ['p(99)<1500'],
+        buddy_chat_turn_duration: ['p(95)<2000', 'p(99)<3000'],
+        buddy_diary_draft_duration: ['p(99)<5000'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 1x1 JPEG (Cloudinary 업로드 경로 측정용)
+const IMAGE = open('./diary.jpg', 'b');
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+function authHeaders(token) {
+    return { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` };
+}
+
+function expectOk(res, name) {
+    const ok = check(res, { [`${name} 2xx`]: (r) => r.status >= 200 && r.status < 300 });
+    if (!ok) {
+        fail(`${name} 실패: ${res.status} ${res.body}`);
+    }
+    return res.json('result');
+}
+
+// 메일 발송은 @Async 라서 도착할 때까지 잠깐 폴링
+function readVerificationCode(email) {
+    for (let i = 0; i < 20; i++) {
+        const search = http.get(`${MAILPIT_URL}/api/v1/search?query=${encodeURIComponent(`to:${email}`)}&limit=1`,
+            { tags: { name: 'mailpit' } });
+        const messages = search.json('messages') || [];
+        if (messages.length > 0) {
+            const message = http.get(`${MAILPIT_URL}/api/v1/message/${messages[0].ID}`, { tags: { name: 'mailpit' } });
+            const match = /\[ (\d{6}) \]/.exec(message.json('Text'));
+            if (match) return match[1];
+        }
+        sleep(0.2);
+    }
+    fail(`인증 메일 미수신: ${email}`);
+}
+
+export default function () {
+    const email = `lt-${exec.vu.idInTest}-${exec.vu.iterationInScenario}-${Date.now()}@buddy.test`;
+    const password = 'loadtest1234';
+    let token;
+
+    group('signup', () => {
+        expectOk(http.post(`${BASE_URL}/api/v1/auth/email/send`,
+            JSON.stringify({ email, purpose: 'SIGNUP' }), { headers: JSON_HEADERS }), 'email/send');
+
+        const code = readVerificationCode(email);
+        const verificationToken = expectOk(http.post(`${BASE_URL}/api/v1/auth/email/verify`,
+            JSON.stringify({ email, code, purpose: 'SIGNUP' }), { headers: JSON_HEADERS }), 'email/verify');
+
+        const login = expectOk(http.post(`${BASE_URL}/api/v1/auth/signup`,
+            JSON.stringify({ email, password, verificationToken }), { headers: JSON_HEADERS }), 'signup');
+        token = login.accessToken;
+    });
+
+    group('onboarding', () => {
+        expectOk(http.patch(`${BASE_URL}/api/v1/members/me/onboarding`,
+            JSON.stringify({ nickname: '부하테스트', characterId: 1, characterName: '버디', isNightAgreed: true }),
+            { headers: authHeaders(token) }), 'onboarding');
+
+        expectOk(http.patch(`${BASE_URL}/api/v1/members/push-token`,
+            JSON.stringify({ pushToken: `lt-push-${email}` }), { headers: authHeaders(token) }), 'push-token');
+    });
+
+    let sessionId = null;
+    group('chat', () => {
+        for (let turn = 0; turn < CHAT_TURNS; turn++) {
+            const body = JSON.stringify({ sessionId, content: `오늘 있었던 일 ${turn + 1}번째 이야기야. 회사에서 발표를 했는데 생각보다 잘 끝났어.` });
+            const started = Date.now();
+
+            if (STREAM) {
+                const res = http.post(`${BASE_URL}/api/v1/chats/stream`, body,
+                    { headers: { ...authHeaders(token), Accept: 'text/event-stream' }, tags: { name: 'chat/stream' } });
+                check(res, { 'chat/stream done': (r) => r.status === 200 && r.body.includes('event:done') });
+                const done = /event:done\s*\ndata:(.*)\n/.exec(res.body);
+                if (!done) fail(`chat/stream 실패: ${res.status} ${res.body}`);
+                sessionId = JSON.parse(done[1]).sessionId;
+            } else {
+                sessionId = expectOk(http.post(`${BASE_URL}/api/v1/chats`, body,
+                    { headers: authHeaders(token), tags: { name: 'chat' } }), 'chat').sessionId;
+            }
+
+            chatTurnDuration.add(Date.now() - started);
+            sleep(THINK_TIME);
+        }
+
+        expectOk(http.patch(`${BASE_URL}/api/v1/chats/${sessionId}/end`, null,
+            { headers: authHeaders(token) }), 'chat/end');
+    });
+
+    let preview;
+    group('diary', () => {
+        const started = Date.now();
+        preview = expectOk(http.post(`${BASE_URL}/api/v1/diaries/from-chat`,
+            JSON.stringify({ sessionId }), { headers: authHeaders(token), timeout: '60s' }), 'diaries/from-chat');
+        diaryDraftDuration.add(Date.now() - started);
+
+        // 지난주 날짜로 저장해야 주간 칭호 생성(AI 호출)까지 이어진다
+        const lastWeek = new Date(Date.now() - 7 * 24 * 3600 * 1000).toISOString().slice(0, 10);
+        const request = {
+            title: preview.title,
+            content: preview.content,
+            diaryDate: lastWeek,
+            sessionId,
+            tags: (preview.tags || []).map((tag) => tag.name),
+        };
+
+        expectOk(http.post(`${BASE_URL}/api/v1/diaries`, {
+            request: http.file(JSON.stringify(request), 'request.json', 'application/json'),
+            image: http.file(IMAGE, 'diary.jpg', 'image/jpeg'),
+        }, { headers: { Authorization: `Bearer ${token}` } }), 'diaries');
+    });
+
+    group('insight', () => {
+        expectOk(http.get(`${BASE_URL}/api/v1/insight/weekly/identity`,
+            { headers: authHeaders(token), timeout: '60s' }), 'insight/weekly/identity');
+        expectOk(http.get(`${BASE_URL}/api/v1/insight/streak`, { headers: authHeaders(token) }), 'insight/streak');
+    });
+
+    sleep(THINK_TIME);
+}
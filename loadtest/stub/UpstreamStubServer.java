@@ -0,0 +1,239 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트용 외부 API 스텁 서버 (OpenAI / Cloudinary / FCM).
+ * <p>
+ * 빌드 없이 단일 파일로 실행합니다. (JDK 21)
+ * <pre>
+ *   java loadtest/stub/UpstreamStubServer.java --port=8089 --latency=400 --jitter=200 --error-rate=0.01
+ * </pre>
+ * <ul>
+ *     <li>POST /v1/chat/completions                     : OpenAI Chat Completions (stream=true 면 SSE 청크)</li>
+ *     <li>POST /v1_1/{cloud}/image/upload | destroy     : Cloudinary 업로드/삭제 (upload_prefix 로 연결)</li>
+ *     <li>POST /v1/projects/{project}/messages:send     : FCM HTTP v1 (sendEachForMulticast 는 토큰마다 1회 호출)</li>
+ *     <li>GET  /__stats                                 : 경로별 호출/에러 횟수</li>
+ * </ul>
+ * 지연 = latency ± jitter(ms). 스트리밍은 첫 토큰까지 latency, 이후 토큰 간격 token-delay(ms).
+ */
+public class UpstreamStubServer {
+
+    private static final String CHAT_REPLY =
+            "우와, 오늘 정말 바쁜 하루였구나! 그래도 끝까지 해낸 너 자신이 대견하지 않아? 오늘은 따뜻한 거 마시고 푹 쉬자. 내일은 어떤 계획이 있어?";
+
+    private static final String DIARY_JSON =
+            "{\\\"title\\\":\\\"바쁜 하루 끝의 작은 뿌듯함\\\",\\\"content\\\":\\\"오늘은 정말 정신없이 바쁜 하루였다. 그래도 끝까지 해냈다는 생각에 마음 한편이 뿌듯했다.\\\\n내일은 조금 더 여유롭게 보내고 싶다.\\\",\\\"tags\\\":[\\\"일상\\\",\\\"뿌듯함\\\",\\\"휴식\\\"]}";
+
+    private static final String INSIGHT_JSON =
+            "{\\\"weeklyIdentity\\\":\\\"성실한 하루 탐험가\\\",\\\"weeklyKeyword\\\":\\\"성실\\\"}";
+
+    private static int port = 8089;
+    private static long latencyMs = 400;
+    private static long jitterMs = 200;
+    private static double errorRate = 0.0;
+    private static long tokenDelayMs = 30;
+
+    private static final Map<String, LongAdder> CALLS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> ERRORS = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length != 2) continue;
+            switch (kv[0]) {
+                case "port" -> port = Integer.parseInt(kv[1]);
+                case "latency" -> latencyMs = Long.parseLong(kv[1]);
+                case "jitter" -> jitterMs = Long.parseLong(kv[1]);
+                case "error-rate" -> errorRate = Double.parseDouble(kv[1]);
+                case "token-delay" -> tokenDelayMs = Long.parseLong(kv[1]);
+                default -> System.err.println("알 수 없는 옵션: " + arg);
+            }
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v1/chat/completions", UpstreamStubServer::openAi);
+        server.createContext("/v1_1/", UpstreamStubServer::cloudinary);
+        server.createContext("/v1/projects/", UpstreamStubServer::fcm);
+        server.createContext("/__stats", UpstreamStubServer::stats);
+        server.start();
+
+        System.out.printf("Upstream stub listening on :%d (latency=%dms, jitter=%dms, error-rate=%.3f, token-delay=%dms)%n",
+                port, latencyMs, jitterMs, errorRate, tokenDelayMs);
+    }
+
+    // =========================================================================
+    // OpenAI
+    // =========================================================================
+    private static void openAi(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        sleep(latency());
+
+        if (shouldFail("openai")) {
+            writeJson(exchange, 429, "{\"error\":{\"message\":\"Rate limit reached (stub)\",\"type\":\"requests\",\"code\":\"rate_limit_exceeded\"}}");
+            return;
+        }
+
+        // 시스템 프롬프트의 출력 포맷으로 요청 종류를 구분
+        String content = body.contains("weeklyIdentity") ? INSIGHT_JSON
+                : body.contains("tags") ? DIARY_JSON
+                : CHAT_REPLY;
+        int promptTokens = body.length() / 3;
+        int completionTokens = content.length() / 2;
+
+        if (body.replace(" ", "").contains("\"stream\":true")) {
+            boolean includeUsage = body.replace(" ", "").contains("\"include_usage\":true");
+            streamOpenAi(exchange, content, includeUsage ? usageJson(promptTokens, completionTokens) : null);
+            return;
+        }
+
+        writeJson(exchange, 200, """
+                {"id":"chatcmpl-%s","object":"chat.completion","created":%d,"model":"stub",
+                 "choices":[{"index":0,"message":{"role":"assistant","content":"%s"},"finish_reason":"stop"}],
+                 "usage":%s}"""
+                .formatted(UUID.randomUUID(), System.currentTimeMillis() / 1000, content,
+                        usageJson(promptTokens, completionTokens)));
+    }
+
+    private static String usageJson(int promptTokens, int completionTokens) {
+        return "{\"prompt_tokens\":%d,\"completion_tokens\":%d,\"total_tokens\":%d}"
+                .formatted(promptTokens, completionTokens, promptTokens + completionTokens);
+    }
+
+    private static void streamOpenAi(HttpExchange exchange, String content, String usage) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            // 2~3글자씩 잘라서 토큰처럼 전송
+            for (int i = 0; i < content.length(); ) {
+                int end = Math.min(content.length(), i + 2 + ThreadLocalRandom.current().nextInt(2));
+                if (end < content.length() && content.charAt(end - 1) == '\\') end++; // 이스케이프 시퀀스 보존
+                String chunk = content.substring(i, end);
+                out.write(("data: {\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + chunk + "\"},\"finish_reason\":null}]}\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                i = end;
+                sleep(tokenDelayMs);
+            }
+            out.write("data: {\"choices\":[{\"index\":0,\"delta\":{},\"finish_reason\":\"stop\"}]}\n\n".getBytes(StandardCharsets.UTF_8));
+            if (usage != null) {
+                out.write(("data: {\"choices\":[],\"usage\":" + usage + "}\n\n").getBytes(StandardCharsets.UTF_8));
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // =========================================================================
+    // Cloudinary
+    // =========================================================================
+    private static void cloudinary(HttpExchange exchange) throws IOException {
+        readBody(exchange);
+        sleep(latency());
+
+        // /v1_1/{cloud}/image/{action}
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        String cloud = path.length > 2 ? path[2] : "stub";
+        String action = path[path.length - 1];
+
+        if (shouldFail("cloudinary")) {
+            writeJson(exchange, 500, "{\"error\":{\"message\":\"Internal error (stub)\"}}");
+            return;
+        }
+
+        if ("destroy".equals(action)) {
+            writeJson(exchange, 200, "{\"result\":\"ok\"}");
+            return;
+        }
+
+        String publicId = "diary_uploads/" + UUID.randomUUID().toString().replace("-", "");
+        long version = System.currentTimeMillis() / 1000;
+        String url = "https://res.cloudinary.com/%s/image/upload/v%d/%s.jpg".formatted(cloud, version, publicId);
+        writeJson(exchange, 200, """
+                {"public_id":"%s","version":%d,"format":"jpg","resource_type":"image","bytes":102400,
+                 "width":1080,"height":1080,"url":"%s","secure_url":"%s"}"""
+                .formatted(publicId, version, url.replace("https://", "http://"), url));
+    }
+
+    // =========================================================================
+    // FCM
+    // =========================================================================
+    private static void fcm(HttpExchange exchange) throws IOException {
+        readBody(exchange);
+        sleep(latency());
+
+        // /v1/projects/{project}/messages:send
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        String project = path.length > 3 ? path[3] : "stub";
+
+        if (shouldFail("fcm")) {
+            writeJson(exchange, 404, """
+                    {"error":{"code":404,"message":"Requested entity was not found.","status":"NOT_FOUND",
+                     "details":[{"@type":"type.googleapis.com/google.firebase.fcm.v1.FcmError","errorCode":"UNREGISTERED"}]}}""");
+            return;
+        }
+
+        writeJson(exchange, 200, "{\"name\":\"projects/%s/messages/%d\"}"
+                .formatted(project, ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)));
+    }
+
+    // =========================================================================
+    // 공통
+    // =========================================================================
+    private static void stats(HttpExchange exchange) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        CALLS.forEach((key, calls) -> json.append("\"").append(key).append("\":{\"calls\":").append(calls.sum())
+                .append(",\"errors\":").append(ERRORS.getOrDefault(key, new LongAdder()).sum()).append("},"));
+        if (json.length() > 1) json.setLength(json.length() - 1);
+        writeJson(exchange, 200, json.append("}").toString());
+    }
+
+    private static boolean shouldFail(String upstream) {
+        CALLS.computeIfAbsent(upstream, k -> new LongAdder()).increment();
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            ERRORS.computeIfAbsent(upstream, k -> new LongAdder()).increment();
+            return true;
+        }
+        return false;
+    }
+
+    private static long latency() {
+        if (jitterMs <= 0) return latencyMs;
+        return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 턴마다 컨텍스트를 토큰 예산에 맞출 때 드는 로컬 토큰 계산 비용 (메시지 1건).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenCounterBenchmark {
+
+    private static final OpenAiRequest.Message MESSAGE = new OpenAiRequest.Message("user",
+            "오늘 회사에서 발표가 있었는데 생각보다 잘 끝나서 기분이 좋았어. 근데 끝나고 나니까 너무 피곤하더라.");
+
+    private TokenCounter tokenCounter;
+
+    @Setup
+    public void setUp() {
+        tokenCounter = new TokenCounter();
+        tokenCounter.count(MESSAGE);
+    }
+
+    @Benchmark
+    public int countMessage() {
+        return tokenCounter.count(MESSAGE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 채팅 컨텍스트(최근 10개) 인코딩/디코딩 비용.
+ * <ul>
+ *     <li>compactEncode / compactDecode : 현재 방식 ("u|내용", 접두어만 잘라 변환)</li>
+ *     <li>jsonEncode / jsonDecode       : 이전 방식 (원소마다 Jackson 직렬화/파싱)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatContextStoreBenchmark {
+
+    private static final String USER_TEXT = "오늘 회사에서 발표가 있었는데 생각보다 잘 끝나서 기분이 좋았어. 근데 끝나고 나니까 너무 피곤하더라.";
+    private static final String AI_TEXT = "우와, 발표 잘 끝났다니 정말 다행이다! 준비하느라 긴장 많이 했을 텐데 오늘은 푹 쉬어야겠다. 발표 주제는 뭐였어?";
+
+    private ObjectMapper objectMapper;
+    private ChatContextStore store;
+    private List<String> compactEntries;
+    private List<String> jsonEntries;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper();
+        store = new ChatContextStore(null, objectMapper, CircuitBreaker.ofDefaults("benchmark"), 10, Duration.ofHours(12));
+
+        compactEntries = new ArrayList<>();
+        jsonEntries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            compactEntries.add(ChatContextStore.encode("user", USER_TEXT));
+            compactEntries.add(ChatContextStore.encode("assistant", AI_TEXT));
+            jsonEntries.add(objectMapper.writeValueAsString(new OpenAiRequest.Message("user", USER_TEXT)));
+            jsonEntries.add(objectMapper.writeValueAsString(new OpenAiRequest.Message("assistant", AI_TEXT)));
+        }
+    }
+
+    @Benchmark
+    public String compactEncode() {
+        return ChatContextStore.encode("user", USER_TEXT);
+    }
+
+    @Benchmark
+    public String jsonEncode() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new OpenAiRequest.Message("user", USER_TEXT));
+    }
+
+    @Benchmark
+    public List<OpenAiRequest.Message> compactDecode() {
+        return store.decode(compactEntries);
+    }
+
+    @Benchmark
+    public List<OpenAiRequest.Message> jsonDecode() {
+        return store.decode(jsonEntries);
+    }
+}
@@ -0,0 +1,44 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.TokenCounter;
+import com.buddy.buddyapi.domain.chat.dto.ChatContextRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일기 생성용 대화 내역 구간 분할 비용. (토큰 계산 + 문자열 조립)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatServiceBenchmark {
+
+    private static final String USER_TEXT = "오늘 회사에서 발표가 있었는데 생각보다 잘 끝나서 기분이 좋았어. 근데 끝나고 나니까 너무 피곤하더라.";
+    private static final String AI_TEXT = "우와, 발표 잘 끝났다니 정말 다행이다! 준비하느라 긴장 많이 했을 텐데 오늘은 푹 쉬어야겠다. 발표 주제는 뭐였어?";
+
+    @Param({"40", "400"})
+    private int transcriptSize;
+
+    private final TokenCounter tokenCounter = new TokenCounter();
+    private List<ChatContextRow> transcript;
+
+    @Setup
+    public void setUp() {
+        transcript = new ArrayList<>();
+        for (int i = 0; i < transcriptSize; i++) {
+            SenderRole role = (i % 2 == 0) ? SenderRole.USER : SenderRole.ASSISTANT;
+            transcript.add(new ChatContextRow(role, role == SenderRole.USER ? USER_TEXT : AI_TEXT));
+        }
+    }
+
+    @Benchmark
+    public List<String> segmentTranscript() {
+        return ChatService.segmentTranscript(transcript.stream(), tokenCounter, 3000);
+    }
+}
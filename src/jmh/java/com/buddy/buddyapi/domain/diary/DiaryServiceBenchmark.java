@@ -0,0 +1,42 @@
+package com.buddy.buddyapi.domain.diary;
+
+import com.buddy.buddyapi.domain.diary.dto.DiaryPreviewResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 일기 초안 응답(JSON 앞뒤에 잡음이 섞인 문자열) 파싱 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiaryServiceBenchmark {
+
+    private static final String RAW_RESPONSE = """
+            다음은 요청하신 일기입니다.
+            ```json
+            {
+              "title": "긴장 끝에 찾아온 작은 뿌듯함",
+              "content": "오늘은 회사에서 발표가 있었다. 며칠 동안 준비하면서 많이 긴장했는데, 막상 발표를 시작하니 생각보다 말이 술술 나왔다. 끝나고 나니 온몸에 힘이 빠졌지만 해냈다는 뿌듯함이 더 컸다. 오늘은 일찍 자야겠다.",
+              "tags": ["발표", "뿌듯함", "피곤", "회사"]
+            }
+            ```
+            """;
+
+    private DiaryService diaryService;
+
+    @Setup
+    public void setUp() {
+        diaryService = new DiaryService(null, null, null, null, null, null, new ObjectMapper(), null);
+    }
+
+    @Benchmark
+    public DiaryPreviewResponse parseAiResponse() {
+        return diaryService.parseAiResponse(RAW_RESPONSE);
+    }
+}
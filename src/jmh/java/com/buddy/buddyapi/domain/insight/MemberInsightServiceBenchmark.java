@@ -0,0 +1,34 @@
+package com.buddy.buddyapi.domain.insight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 주간 칭호 응답 파싱 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberInsightServiceBenchmark {
+
+    private static final String RAW_RESPONSE = """
+            {"weeklyIdentity": "꾸준히 하루를 기록하는 성실한 탐험가", "weeklyKeyword": "성실"}
+            """;
+
+    private MemberInsightService memberInsightService;
+
+    @Setup
+    public void setUp() {
+        memberInsightService = new MemberInsightService(null, null, null, null, new ObjectMapper(), null, null);
+    }
+
+    @Benchmark
+    public MemberInsightService.ParsedInsightDto parseAiResponse() {
+        return memberInsightService.parseAiResponse(RAW_RESPONSE);
+    }
+}
@@ -0,0 +1,25 @@
+package com.buddy.buddyapi.global.infra;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 로그마다 호출되는 FCM 토큰 마스킹 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FcmServiceBenchmark {
+
+    private static final String TOKEN =
+            "dKq3x9Z1R0eB7m:APA91bH8sVv2yQp4kLwz0Jr6TnX5cE1uYfG3hM9aD2oWqS7iP0lK4jN8bR6tU1vC5xZ3yA";
+
+    @Benchmark
+    public String maskToken() {
+        return FcmService.maskToken(TOKEN);
+    }
+}
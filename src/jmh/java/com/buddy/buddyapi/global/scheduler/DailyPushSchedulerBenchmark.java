@@ -0,0 +1,45 @@
+package com.buddy.buddyapi.global.scheduler;
+
+import com.buddy.buddyapi.domain.member.Member;
+import com.buddy.buddyapi.domain.member.NotificationSetting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 데일리 푸시 발송 대상 토큰 목록 조립 비용. (10% 는 토큰이 없거나 공백)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DailyPushSchedulerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int targetCount;
+
+    private List<NotificationSetting> targetSettings;
+
+    @Setup
+    public void setUp() {
+        targetSettings = new ArrayList<>(targetCount);
+        for (int i = 0; i < targetCount; i++) {
+            Member member = new Member("member" + i + "@buddy.com", null, "member" + i);
+            if (i % 10 == 0) {
+                member.updatePushToken(i % 20 == 0 ? null : " ");
+            } else {
+                member.updatePushToken("fcm-token-" + i + ":APA91bH8sVv2yQp4kLwz0Jr6TnX5cE1uYfG3hM9aD2oWqS7iP0lK4jN8b");
+            }
+            targetSettings.add(new NotificationSetting(member, true, true, false, true));
+        }
+    }
+
+    @Benchmark
+    public List<String> collectPushTokens() {
+        return DailyPushScheduler.collectPushTokens(targetSettings);
+    }
+}
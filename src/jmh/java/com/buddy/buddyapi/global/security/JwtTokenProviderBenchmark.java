@@ -0,0 +1,77 @@
+package com.buddy.buddyapi.global.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.security.Key;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 수행되는 Access Token 발급/인증 비용 비교.
+ * <ul>
+ *     <li>createAccessToken       : 로그인/재발급 시 토큰 서명</li>
+ *     <li>validateToken           : 서명 + 만료 검증</li>
+ *     <li>legacyValidateThenParse : 기존 방식 (validateToken + getAuthentication, 매번 parserBuilder 생성 후 두 번 검증)</li>
+ *     <li>singlePassVerify        : 미리 만든 파서로 한 번만 검증 (캐시 미스 상황)</li>
+ *     <li>cachedAuthenticate      : 재방문 토큰 (토큰 해시 조회)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 1_209_600_000L, 10_000L);
+        key = io.jsonwebtoken.security.Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = jwtTokenProvider.createAccessToken(42L);
+        jwtTokenProvider.authenticate(token); // 캐시 적재
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTokenProvider.createAccessToken(42L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication legacyValidateThenParse() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return new UsernamePasswordAuthenticationToken(Long.parseLong(claims.getSubject()), null, List.of());
+    }
+
+    @Benchmark
+    public Optional<JwtTokenProvider.VerifiedPrincipal> singlePassVerify() {
+        return jwtTokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> cachedAuthenticate() {
+        return jwtTokenProvider.authenticate(token);
+    }
+}
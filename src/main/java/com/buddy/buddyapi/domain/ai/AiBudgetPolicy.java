@@ -0,0 +1,124 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원별 일일 토큰 예산에 따라 OpenAI 호출 방식을 조정한다.
+ * <ul>
+ *     <li>soft-limit 이상 : 더 저렴한 downgrade-model 로 호출</li>
+ *     <li>hard-limit 이상 : 모델 다운그레이드 + 채팅 히스토리를 최근 shrunk-history-size 개로 축소</li>
+ * </ul>
+ * 사용량은 {@link AiUsageRecorder} 의 메모리 값을 보므로 요청 경로에 Redis 조회가 추가되지 않는다.
+ */
+@Component
+public class AiBudgetPolicy {
+
+    private final AiUsageRecorder usageRecorder;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long softLimit;
+    private final long hardLimit;
+    private final String downgradeModel;
+    private final int shrunkHistorySize;
+
+    public AiBudgetPolicy(
+            AiUsageRecorder usageRecorder,
+            MeterRegistry meterRegistry,
+            @Value("${ai.budget.enabled:true}") boolean enabled,
+            @Value("${ai.budget.daily-soft-limit:150000}") long softLimit,
+            @Value("${ai.budget.daily-hard-limit:300000}") long hardLimit,
+            @Value("${ai.budget.downgrade-model:gpt-4.1-nano}") String downgradeModel,
+            @Value("${ai.budget.shrunk-history-size:4}") int shrunkHistorySize) {
+        this.usageRecorder = usageRecorder;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.softLimit = softLimit;
+        this.hardLimit = hardLimit;
+        this.downgradeModel = downgradeModel;
+        this.shrunkHistorySize = shrunkHistorySize;
+    }
+
+    /**
+     * 이번 호출에 사용할 모델/컨텍스트 정책을 결정합니다.
+     *
+     * @param memberId 호출한 회원 (null 이면 제한 없음)
+     * @param feature  기능 구분
+     * @param model    기능별 기본 모델
+     * @return 적용할 호출 계획
+     */
+    public Plan plan(Long memberId, AiFeature feature, String model) {
+        if (!enabled || memberId == null) {
+            return Plan.normal(model);
+        }
+
+        long used = usageRecorder.todayTokens(memberId);
+        Plan plan;
+        if (used >= hardLimit) {
+            plan = new Plan(downgradeModel, shrunkHistorySize, Level.CONTEXT_SHRUNK);
+        } else if (used >= softLimit) {
+            plan = new Plan(downgradeModel, Plan.UNLIMITED, Level.DOWNGRADED);
+        } else {
+            return Plan.normal(model);
+        }
+
+        Counter.builder("openai.budget.applied")
+                .description("일일 토큰 예산 초과로 조정된 OpenAI 호출 수")
+                .tag("feature", feature.getKey())
+                .tag("level", plan.level().name())
+                .register(meterRegistry)
+                .increment();
+        return plan;
+    }
+
+    public enum Level {
+        NORMAL, DOWNGRADED, CONTEXT_SHRUNK
+    }
+
+    /**
+     * @param model              호출할 모델
+     * @param maxHistoryMessages 유지할 과거 대화 메시지 수 (UNLIMITED 면 그대로)
+     * @param level              적용 단계
+     */
+    public record Plan(String model, int maxHistoryMessages, Level level) {
+
+        static final int UNLIMITED = -1;
+
+        static Plan normal(String model) {
+            return new Plan(model, UNLIMITED, Level.NORMAL);
+        }
+
+        /**
+         * 앞쪽 system 메시지와 마지막(현재 요청) 메시지는 유지하고, 그 사이 과거 대화만 최근 N개로 줄입니다.
+         *
+         * @param messages System + History + User 순서의 메시지 목록
+         * @return 축소된 메시지 목록 (축소가 필요 없으면 원본)
+         */
+        public List<OpenAiRequest.Message> apply(List<OpenAiRequest.Message> messages) {
+            if (maxHistoryMessages == UNLIMITED || messages.size() < 2) {
+                return messages;
+            }
+
+            int historyStart = 0;
+            while (historyStart < messages.size() - 1 && "system".equals(messages.get(historyStart).role())) {
+                historyStart++;
+            }
+            int historyEnd = messages.size() - 1;
+            int historySize = historyEnd - historyStart;
+            if (historySize <= maxHistoryMessages) {
+                return messages;
+            }
+
+            List<OpenAiRequest.Message> shrunk = new ArrayList<>(messages.subList(0, historyStart));
+            shrunk.addAll(messages.subList(historyEnd - maxHistoryMessages, historyEnd));
+            shrunk.add(messages.get(historyEnd));
+            return shrunk;
+        }
+    }
+}
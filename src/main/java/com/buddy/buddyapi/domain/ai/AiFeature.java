@@ -0,0 +1,20 @@
+package com.buddy.buddyapi.domain.ai;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OpenAI 를 호출하는 기능 구분. 토큰 사용량 집계와 메트릭 태그, 요청 한도 우선순위에 사용한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AiFeature {
+    CHAT("chat", AiPriority.INTERACTIVE),
+    CHAT_SUMMARY("chat_summary", AiPriority.DRAFT),
+    DIARY("diary", AiPriority.DRAFT),
+    DIARY_SEGMENT("diary_segment", AiPriority.DRAFT),
+    WEEKLY_IDENTITY("weekly_identity", AiPriority.BATCH);
+
+    private final String key;
+    private final AiPriority priority;
+}
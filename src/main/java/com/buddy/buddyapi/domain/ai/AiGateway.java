@@ -0,0 +1,397 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * AI 공급자 호출 앞단의 게이트웨이. (AiService 의 모든 호출이 거쳐 감)
+ * <ul>
+ *     <li>기능별 데드라인: 재시도/헤지/폴백을 모두 포함한 전체 제한 시간 (ai.gateway.features.{기능}.deadline)</li>
+ *     <li>모델별 서킷 브레이커: 업스트림 장애(5xx, 429, 타임아웃)가 쌓이면 해당 모델 호출을 잠시 멈춤.
+ *         헤지에서 진 시도처럼 이쪽에서 취소한 시도는 기록하지 않고, 스트리밍은 전체 시간 대신 첫 토큰까지의 시간을 기록</li>
+ *     <li>재시도: 멱등한 초안/요약 호출만 지수 백오프 + 풀 지터로 max-retries 번</li>
+ *     <li>헤지: 채팅은 첫 시도가 최근 p95 를 넘기면 같은 요청을 한 번 더 보내 먼저 온 응답을 사용</li>
+ *     <li>폴백: 모델이 실패하거나 브레이커가 열려 있으면 model-chain 에서 그 뒤의 모델로 넘어감</li>
+ * </ul>
+ * 메트릭: resilience4j.circuitbreaker.*{name=공급자:모델}, ai.gateway.attempt(스트리밍 제외), ai.gateway.retry,
+ * ai.gateway.hedge{outcome=fired/won}, ai.gateway.fallback{from,to}, ai.gateway.deadline.exceeded
+ */
+@Slf4j
+@Component
+public class AiGateway {
+
+    private final AiGatewayProperties properties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final MeterRegistry meterRegistry;
+
+    // 데드라인/헤지를 위해 시도를 별도 스레드에서 실행 (취소 시 interrupt 로 소켓 읽기를 끊음)
+    private final ExecutorService attemptExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ai-gateway-", 0).factory());
+
+    public AiGateway(AiGatewayProperties properties,
+                     CircuitBreakerRegistry circuitBreakerRegistry,
+                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+
+        AiGatewayProperties.CircuitBreaker breaker = properties.circuitBreaker();
+        this.circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.slidingWindowSize())
+                .minimumNumberOfCalls(breaker.minimumNumberOfCalls())
+                .failureRateThreshold(breaker.failureRateThreshold())
+                .slowCallRateThreshold(breaker.failureRateThreshold())
+                .slowCallDurationThreshold(breaker.slowCallThreshold())
+                .waitDurationInOpenState(breaker.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // 요청 자체의 문제(400 등)나 응답 파싱 실패는 업스트림 장애로 보지 않음
+                .recordException(AiGateway::isUpstreamFailure)
+                .build();
+    }
+
+    /**
+     * 응답 전체를 한 번에 받는 호출을 실행합니다.
+     * @param feature  기능 구분 (데드라인/재시도/헤지 정책)
+     * @param provider 호출할 공급자 이름 (브레이커 구분)
+     * @param model    예산 정책까지 반영된 호출 모델
+     * @param attempt 모델 이름을 받아 한 번 호출하는 함수
+     * @return 처음 성공한 시도의 결과
+     * @throws BaseException 모든 모델이 실패했거나 데드라인을 넘긴 경우 (AI_UNAVAILABLE), 응답을 처리할 수 없는 경우 (AI_PARSE_ERROR)
+     */
+    public <T> T call(AiFeature feature, String provider, String model, Function<String, T> attempt) {
+        AiGatewayProperties.Feature policy = properties.feature(feature);
+        long deadline = System.nanoTime() + policy.deadline().toNanos();
+
+        RuntimeException lastFailure = null;
+        String previousModel = null;
+        for (String candidate : modelChain(model)) {
+            if (previousModel != null) {
+                countFallback(feature, previousModel, candidate);
+            }
+            previousModel = candidate;
+            CircuitBreaker breaker = breaker(provider, candidate);
+
+            for (int retry = 0; retry <= policy.maxRetries(); retry++) {
+                try {
+                    return execute(feature, policy.hedge(), deadline,
+                            () -> guarded(breaker, () -> attempt.apply(candidate)));
+                } catch (CallNotPermittedException e) {
+                    log.warn("AI 서킷 브레이커 OPEN - 다음 모델로 폴백: {}:{}", provider, candidate);
+                    lastFailure = e;
+                    break;
+                } catch (BaseException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                    if (!isUpstreamFailure(e)) {
+                        throw unavailable(e);
+                    }
+                    if (retry == policy.maxRetries() || !backoff(feature, retry, deadline)) {
+                        break;
+                    }
+                    log.warn("AI 호출 실패 - 재시도 {}/{} model={}: {}", retry + 1, policy.maxRetries(), candidate, e.getMessage());
+                }
+            }
+        }
+        throw unavailable(lastFailure);
+    }
+
+    /**
+     * 스트리밍 호출을 실행합니다. 토큰을 흘려보내는 중이므로 헤지/재시도/데드라인 없이
+     * 브레이커와, 첫 토큰을 보내기 전 실패에 대한 모델 폴백만 적용합니다.
+     * 긴 답변이 느린 호출로 잡혀 비스트리밍 호출까지 막지 않도록, 브레이커에는 첫 토큰까지의 시간을 기록합니다.
+     * @param feature      기능 구분
+     * @param provider     호출할 공급자 이름 (브레이커 구분)
+     * @param model        예산 정책까지 반영된 호출 모델
+     * @param attempt      모델 이름을 받아 한 번 호출하는 함수 (호출 스레드에서 실행)
+     * @param firstTokenAt 첫 토큰을 클라이언트로 보낸 시각 (System.nanoTime, 아직이면 0). 보냈으면 폴백하지 않음
+     * @return 처음 성공한 시도의 결과
+     */
+    public <T> T stream(AiFeature feature, String provider, String model, Function<String, T> attempt, LongSupplier firstTokenAt) {
+        RuntimeException lastFailure = null;
+        String previousModel = null;
+        for (String candidate : modelChain(model)) {
+            if (previousModel != null) {
+                countFallback(feature, previousModel, candidate);
+            }
+            previousModel = candidate;
+            CircuitBreaker breaker = breaker(provider, candidate);
+
+            try {
+                breaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                log.warn("AI 서킷 브레이커 OPEN - 다음 모델로 폴백: {}:{}", provider, candidate);
+                lastFailure = e;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = attempt.apply(candidate);
+                breaker.onSuccess(timeToFirstToken(start, firstTokenAt), TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                recordFailure(breaker, timeToFirstToken(start, firstTokenAt), e);
+                if (e instanceof BaseException) {
+                    throw e;
+                }
+                lastFailure = e;
+                if (!isUpstreamFailure(e) || firstTokenAt.getAsLong() != 0) {
+                    throw unavailable(e);
+                }
+            }
+        }
+        throw unavailable(lastFailure);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        attemptExecutor.shutdownNow();
+    }
+
+    /**
+     * 한 번의 시도를 데드라인 안에서 실행합니다. 헤지가 켜져 있으면 첫 시도가 p95 를 넘길 때 같은 시도를 하나 더 보내고
+     * 먼저 성공한 결과를 사용합니다. 남은 시도는 취소합니다.
+     */
+    private <T> T execute(AiFeature feature, boolean hedge, long deadline, Supplier<T> task) {
+        CompletionService<T> completion = new ExecutorCompletionService<>(attemptExecutor);
+        List<Future<T>> futures = new ArrayList<>(2);
+        long hedgeDelay = hedge ? hedgeDelay(feature) : Long.MAX_VALUE;
+        boolean hedgeFired = !hedge;
+        Throwable failure = null;
+
+        futures.add(completion.submit(timed(feature, task)::get));
+        int inFlight = 1;
+        try {
+            while (inFlight > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    meterRegistry.counter("ai.gateway.deadline.exceeded", "feature", feature.getKey()).increment();
+                    log.warn("AI 호출 데드라인 초과 feature={}", feature.getKey());
+                    throw new BaseException(ResultCode.AI_UNAVAILABLE);
+                }
+
+                Future<T> done = completion.poll(hedgeFired ? remaining : Math.min(remaining, hedgeDelay), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (!hedgeFired) {
+                        futures.add(completion.submit(timed(feature, task)::get));
+                        inFlight++;
+                        hedgeFired = true;
+                        countHedge(feature, "fired");
+                    }
+                    continue;
+                }
+
+                inFlight--;
+                try {
+                    T result = done.get();
+                    if (futures.size() > 1 && done == futures.get(1)) {
+                        countHedge(feature, "won");
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                }
+                if (!hedgeFired) {
+                    // 헤지 전에 실패했으면 같은 요청을 또 보내지 않고 재시도/폴백 판단으로 넘김
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ResultCode.AI_UNAVAILABLE);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+
+        if (failure instanceof RuntimeException re) {
+            throw re;
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    /**
+     * 브레이커 허가를 받아 한 번 호출하고 결과를 기록합니다.
+     * 헤지에서 진 시도나 데드라인으로 취소된 시도는 업스트림 결과가 아니므로 기록하지 않고 허가만 반납합니다.
+     */
+    private static <T> T guarded(CircuitBreaker breaker, Supplier<T> call) {
+        breaker.acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            breaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(breaker, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    private static void recordFailure(CircuitBreaker breaker, long durationNanos, RuntimeException e) {
+        if (isCancelled(e)) {
+            breaker.releasePermission();
+        } else {
+            breaker.onError(durationNanos, TimeUnit.NANOSECONDS, e);
+        }
+    }
+
+    private static long timeToFirstToken(long start, LongSupplier firstTokenAt) {
+        long first = firstTokenAt.getAsLong();
+        return (first != 0 ? first : System.nanoTime()) - start;
+    }
+
+    private <T> Supplier<T> timed(AiFeature feature, Supplier<T> task) {
+        return () -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "ERROR";
+            try {
+                T result = task.get();
+                outcome = "SUCCESS";
+                return result;
+            } catch (CallNotPermittedException e) {
+                outcome = "REJECTED";
+                throw e;
+            } finally {
+                sample.stop(attemptTimer(feature, outcome));
+            }
+        };
+    }
+
+    /**
+     * 헤지 대기 시간 = 최근 성공한 시도의 p95 (hedge-min-delay ~ hedge-max-delay 범위)
+     */
+    private long hedgeDelay(AiFeature feature) {
+        long p95 = 0;
+        for (ValueAtPercentile value : attemptTimer(feature, "SUCCESS").takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.95) {
+                p95 = (long) value.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        long min = properties.hedgeMinDelay().toNanos();
+        long max = properties.hedgeMaxDelay().toNanos();
+        return p95 <= 0 ? max : Math.clamp(p95, min, max);
+    }
+
+    /**
+     * 재시도 전 대기. 지수 백오프 상한 안에서 무작위로 기다립니다. (풀 지터)
+     * @return 데드라인 안에 다시 시도할 수 있으면 true
+     */
+    private boolean backoff(AiFeature feature, int retry, long deadline) {
+        long cap = Math.min(properties.retryMaxDelay().toNanos(), properties.retryBaseDelay().toNanos() << Math.min(retry, 20));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        if (System.nanoTime() + delay >= deadline) {
+            return false;
+        }
+        meterRegistry.counter("ai.gateway.retry", "feature", feature.getKey()).increment();
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 호출 모델부터 시작하는 폴백 순서. model-chain 에 없는 모델이면 폴백 없이 그 모델만 사용합니다.
+     */
+    List<String> modelChain(String model) {
+        List<String> chain = properties.modelChain();
+        int index = chain.indexOf(model);
+        if (index < 0) {
+            return List.of(model);
+        }
+        return chain.subList(index, chain.size());
+    }
+
+    private CircuitBreaker breaker(String provider, String model) {
+        return circuitBreakerRegistry.circuitBreaker(provider + ":" + model, circuitBreakerConfig);
+    }
+
+    private Timer attemptTimer(AiFeature feature, String outcome) {
+        return Timer.builder("ai.gateway.attempt")
+                .description("AI 게이트웨이 시도별 지연 (헤지 대기 시간 계산에 p95 사용)")
+                .tag("feature", feature.getKey())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.95)
+                .distributionStatisticExpiry(Duration.ofMinutes(2))
+                .register(meterRegistry);
+    }
+
+    private void countHedge(AiFeature feature, String outcome) {
+        meterRegistry.counter("ai.gateway.hedge", "feature", feature.getKey(), "outcome", outcome).increment();
+    }
+
+    private void countFallback(AiFeature feature, String from, String to) {
+        log.warn("AI 모델 폴백 feature={}: {} -> {}", feature.getKey(), from, to);
+        meterRegistry.counter("ai.gateway.fallback", "feature", feature.getKey(), "from", from, "to", to).increment();
+    }
+
+    private BaseException unavailable(RuntimeException cause) {
+        if (cause instanceof BaseException be) {
+            return be;
+        }
+        log.error("AI 호출 실패: {}", cause == null ? "사용 가능한 모델 없음" : cause.getMessage());
+        return new BaseException(ResultCode.AI_UNAVAILABLE);
+    }
+
+    /**
+     * 이쪽에서 시도를 취소(interrupt)해서 난 실패인지. (헤지에서 진 시도, 데드라인 초과)
+     * 소켓 읽기 타임아웃(SocketTimeoutException)도 InterruptedIOException 이므로 업스트림 장애로 남깁니다.
+     */
+    static boolean isCancelled(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+                    || (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 업스트림 장애로 볼 실패인지 (재시도/폴백/브레이커 기록 대상)
+     * 5xx, 429, 연결/읽기 타임아웃만 해당하고, 400 등 요청 자체의 문제나 로컬 벌크헤드 초과는 제외합니다.
+     */
+    static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof HttpStatusCodeException status) {
+            return status.getStatusCode().value() == 429 || status.getStatusCode().is5xxServerError();
+        }
+        return e instanceof ResourceAccessException;
+    }
+}
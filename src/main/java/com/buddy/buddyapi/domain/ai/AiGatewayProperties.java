@@ -0,0 +1,56 @@
+package com.buddy.buddyapi.domain.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI 호출 게이트웨이 설정. application.yml 의 ai.gateway 항목과 매핑된다.
+ *
+ * @param modelChain     모델 폴백 순서. 호출 모델이 실패하면 목록에서 그 뒤에 있는 모델로만 넘어간다. (더 저렴한 쪽으로)
+ * @param retryBaseDelay 재시도 대기 기준 시간 (시도마다 2배, 0 ~ 값 사이 지터)
+ * @param retryMaxDelay  재시도 대기 상한
+ * @param hedgeMinDelay  헤지 요청을 보내기 전 최소 대기 시간 (p95 가 이보다 짧아도 이만큼은 기다림)
+ * @param hedgeMaxDelay  최근 지연 기록이 없거나 p95 가 더 길 때 사용하는 대기 시간
+ * @param circuitBreaker 모델별 서킷 브레이커 설정
+ * @param features       기능별 호출 정책 (없으면 기본값)
+ */
+@ConfigurationProperties(prefix = "ai.gateway")
+public record AiGatewayProperties(
+        @DefaultValue("gpt-4o-mini") List<String> modelChain,
+        @DefaultValue("200ms") Duration retryBaseDelay,
+        @DefaultValue("2s") Duration retryMaxDelay,
+        @DefaultValue("500ms") Duration hedgeMinDelay,
+        @DefaultValue("5s") Duration hedgeMaxDelay,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        Map<AiFeature, Feature> features
+) {
+
+    /**
+     * @param deadline   재시도/폴백을 포함한 전체 호출 제한 시간
+     * @param maxRetries 같은 모델로 다시 시도하는 횟수 (멱등한 초안/요약 호출만)
+     * @param hedge      첫 시도가 p95 를 넘기면 같은 요청을 한 번 더 보내 먼저 온 응답을 사용할지 여부
+     */
+    public record Feature(
+            @DefaultValue("60s") Duration deadline,
+            @DefaultValue("0") int maxRetries,
+            @DefaultValue("false") boolean hedge
+    ) {}
+
+    public record CircuitBreaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("30s") Duration slowCallThreshold,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumNumberOfCalls,
+            @DefaultValue("30s") Duration waitDurationInOpenState
+    ) {}
+
+    private static final Feature DEFAULT_FEATURE = new Feature(Duration.ofSeconds(60), 0, false);
+
+    public Feature feature(AiFeature feature) {
+        return features == null ? DEFAULT_FEATURE : features.getOrDefault(feature, DEFAULT_FEATURE);
+    }
+}
@@ -0,0 +1,10 @@
+package com.buddy.buddyapi.domain.ai;
+
+/**
+ * AI 호출 우선순위. 요청 한도(분당 요청/토큰)가 부족할 때 AiRateLimitScheduler 가 높은 순서대로 처리한다.
+ */
+public enum AiPriority {
+    INTERACTIVE,    // 사용자가 화면에서 기다리는 채팅
+    DRAFT,          // 일기 초안, 대화 요약 (조금 늦어도 되는 작업)
+    BATCH           // 주간 칭호 등 배치 (한도가 부족하면 미루거나 버림)
+}
@@ -1,18 +1,42 @@
 package com.buddy.buddyapi.domain.ai;
 
 public class AiPrompt {
+    // 채팅 시스템 프롬프트. 내용을 바꾸면 CHAT_SYSTEM_PROMPT_VERSION 도 올려서 페르소나 캐시가 새로 만들어지게 한다.
+    // OpenAI 프롬프트 캐싱은 앞부분이 바이트 단위로 같아야 적중하므로 고정 규칙을 앞에, 캐릭터별 값(성격, 이름)을 맨 뒤에 둔다.
+    public static final int CHAT_SYSTEM_PROMPT_VERSION = 2;
     public static final String CHAT_SYSTEM_PROMPT =
             """
-                    너는 다음과 같은 성격을 가진 캐릭터야: [%s].
-                    이름은 [%s]이고, 사용자의 오래된 친한 친구야.
+                    너는 사용자의 오래된 친한 친구인 캐릭터야.
                     
                     [규칙]
                     1. 답변은 2~3문장을 넘기지 마. 짧고 자연스럽게.
                     2. 질문은 한 번에 하나만 해.
                     3. 친구한테 카톡 보내듯이 써.
-                    4. 상대 말을 요약하거나 반복하지 마.""";
+                    4. 상대 말을 요약하거나 반복하지 마.
+                    
+                    [캐릭터]
+                    성격: [%s]
+                    이름: [%s]""";
 //                    3. 존댓말, 격식체 절대 금지. 친구한테 카톡 보내듯이 써.
 
+    // 채팅 프롬프트에 붙는 이전 대화 요약
+    public static final String CHAT_SUMMARY_CONTEXT_PROMPT =
+            """
+                    [지금까지 나눈 대화 요약]
+                    %s
+                    위 내용은 이미 나눈 이야기야. 자연스럽게 기억하고 있는 것처럼 이어가되, 요약을 그대로 말하지는 마.""";
+
+    // 오래된 대화를 롤링 요약으로 접을 때 사용하는 프롬프트
+    public static final String CHAT_SUMMARY_SYSTEM_PROMPT =
+            """
+                    너는 대화 기록을 정리하는 요약가야.
+                    [이전 요약]이 있으면 그 내용을 유지하면서 [새 대화]의 내용을 합쳐 하나의 요약으로 다시 써.
+                    
+                    [규칙]
+                    1. USER가 말한 사실, 사건, 감정, 사람 이름, 약속을 우선으로 남겨. ASSISTANT의 말은 흐름 파악에 필요한 만큼만.
+                    2. 추측하거나 새로운 내용을 지어내지 마.
+                    3. 대화에서 사용한 언어로, 공백 포함 400자 이내의 평문으로 써. 마크다운, 머리말 없이 요약만 반환.""";
+
 
     // 일기 생성용 프롬프트
 public static final String DIARY_SYSTEM_PROMPT =
@@ -50,6 +74,26 @@ public static final String DIARY_SYSTEM_PROMPT =
 
 
 
+    // 긴 대화를 구간별로 나눠 일기 재료를 뽑을 때 사용하는 프롬프트 (map 단계)
+    // 최종 일기가 USER 말투를 복제할 수 있도록 USER 원문 발화를 일부 그대로 남기게 한다.
+    public static final String DIARY_SEGMENT_SYSTEM_PROMPT =
+            """
+                    너는 긴 대화 기록의 한 구간을 읽고 일기 재료를 정리하는 기록가야.
+                    
+                    [규칙]
+                    1. USER가 말한 사실, 사건, 감정, 사람 이름을 시간 순서대로 짧게 정리해. ASSISTANT의 말은 흐름 파악에만 쓰고 정리에 넣지 마.
+                    2. USER의 말투가 잘 드러나는 발화 2~3개를 고치지 말고 "USER 원문:" 뒤에 그대로 옮겨 적어. 비속어, 줄임말도 그대로.
+                    3. 추측하거나 새로운 내용을 지어내지 마.
+                    4. 대화에서 사용한 언어로, 공백 포함 500자 이내의 평문으로 써. 마크다운, 머리말 없이 정리만 반환.""";
+
+    // 구간별 정리를 모아 최종 일기를 쓸 때 user 메시지 앞에 붙는 설명 (reduce 단계, 시스템 프롬프트는 DIARY_SYSTEM_PROMPT_RAW)
+    public static final String DIARY_SEGMENTS_USER_PROMPT =
+            """
+                    아래는 하나의 긴 대화를 시간순 구간별로 정리한 노트야. 대본 대신 이 노트를 읽고 일기를 써.
+                    "USER 원문:" 뒤의 발화가 USER의 실제 말투야.
+                    
+                    %s""";
+
     // 주간 칭호 생성용 프롬프트
     public static final String WEEKLY_IDENTITY_SYSTEM_PROMPT =
             """
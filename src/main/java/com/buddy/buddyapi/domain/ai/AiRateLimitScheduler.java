@@ -0,0 +1,394 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 분당 요청/토큰 한도(RPM/TPM)를 우선순위에 따라 나눠 쓰는 스케줄러. (ai.scheduler)
+ * <ul>
+ *     <li>한도는 응답 헤더(x-ratelimit-*)로 갱신하고, 다음 응답 전까지는 보낸 요청만큼 직접 차감</li>
+ *     <li>우선순위별 reserve 비율만큼은 더 높은 우선순위를 위해 남겨 둠 (채팅은 한도가 남아 있으면 항상 통과)</li>
+ *     <li>한도가 부족하면 우선순위 → 도착 순으로 대기하고, 리셋 시각이 지나거나 헤더가 갱신되면 앞에서부터 깨움</li>
+ *     <li>max-wait 를 넘기면 호출하지 않고 AI_RATE_LIMITED 로 끝냄 (배치/초안 작업을 버려 채팅 지연을 보호)</li>
+ *     <li>429 를 받으면 Retry-After(없으면 리셋 시각)까지 요청 한도를 0 으로 둠</li>
+ * </ul>
+ * 아직 헤더를 받지 못한 한도는 알 수 없으므로 제한하지 않는다.
+ * 메트릭: ai.scheduler.admitted{priority,outcome}, ai.scheduler.wait{priority}, ai.scheduler.queue{priority}, ai.scheduler.remaining{type}
+ */
+@Slf4j
+@Component
+public class AiRateLimitScheduler {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+    private static final long IDLE_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 분당 한도의 창 길이 (리셋 헤더가 없거나, 헤더 없이 리셋 시각이 지나 직접 다시 채울 때)
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AiSchedulerProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private final Map<AiPriority, AtomicInteger> queued = new EnumMap<>(AiPriority.class);
+    private final Bucket requests = new Bucket();
+    private final Bucket tokens = new Bucket();
+    private long sequence;
+
+    public AiRateLimitScheduler(AiSchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        for (AiPriority priority : AiPriority.values()) {
+            AtomicInteger size = new AtomicInteger();
+            queued.put(priority, size);
+            Gauge.builder("ai.scheduler.queue", size, AtomicInteger::get)
+                    .description("요청 한도를 기다리는 AI 호출 수")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ai.scheduler.remaining", this, s -> s.remaining(s.requests))
+                .description("응답 헤더 기준 남은 분당 한도 (알 수 없으면 -1)")
+                .tag("type", "requests")
+                .register(meterRegistry);
+        Gauge.builder("ai.scheduler.remaining", this, s -> s.remaining(s.tokens))
+                .description("응답 헤더 기준 남은 분당 한도 (알 수 없으면 -1)")
+                .tag("type", "tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 한 번에 필요한 한도를 확보합니다. 부족하면 우선순위 순서가 올 때까지 max-wait 만큼 기다립니다.
+     * @param priority        호출 우선순위
+     * @param estimatedTokens 프롬프트 토큰 + 응답 추정치
+     * @throws BaseException max-wait 안에 한도를 확보하지 못한 경우 (AI_RATE_LIMITED), 대기 중 취소된 경우 (AI_UNAVAILABLE)
+     */
+    public void acquire(AiPriority priority, long estimatedTokens) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            refresh(start);
+            if (!hasWaitingAtOrAbove(priority) && admissible(priority, estimatedTokens)) {
+                consume(estimatedTokens);
+                count(priority, "immediate");
+                return;
+            }
+
+            long maxWait = properties.maxWait(priority).toNanos();
+            if (maxWait <= 0) {
+                throw shed(priority);
+            }
+
+            Waiter waiter = enqueue(priority, estimatedTokens);
+            long deadline = start + maxWait;
+            try {
+                while (!waiter.admitted) {
+                    long now = System.nanoTime();
+                    long left = deadline - now;
+                    if (left <= 0) {
+                        dequeue(waiter);
+                        dispatch();
+                        throw shed(priority);
+                    }
+                    waiter.condition.awaitNanos(Math.min(left, untilReset(now)));
+                    refresh(System.nanoTime());
+                    dispatch();
+                }
+            } catch (InterruptedException e) {
+                // 헤지 패자 취소/데드라인 초과 - 이미 차감된 한도는 돌려주지 않음 (다음 헤더로 보정)
+                if (!waiter.admitted) {
+                    dequeue(waiter);
+                    dispatch();
+                }
+                Thread.currentThread().interrupt();
+                throw new BaseException(ResultCode.AI_UNAVAILABLE);
+            }
+
+            count(priority, "deferred");
+            meterRegistry.timer("ai.scheduler.wait", "priority", priority.name().toLowerCase())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 응답 헤더(x-ratelimit-*)로 남은 한도와 리셋 시각을 갱신하고, 대기 중인 호출을 깨웁니다.
+     * @param headers OpenAI 응답 헤더 (오류 응답 포함)
+     */
+    public void observe(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            requests.update(headers, "requests", now);
+            tokens.update(headers, "tokens", now);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429 응답을 받았을 때 Retry-After(없으면 요청 한도 리셋 시각)까지 새 호출을 보내지 않도록 요청 한도를 비웁니다.
+     * @param headers 429 응답 헤더
+     */
+    public void onRateLimited(HttpHeaders headers) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            requests.update(headers, "requests", now);
+            tokens.update(headers, "tokens", now);
+
+            Duration retryAfter = retryAfter(headers);
+            requests.exhaust(retryAfter == null ? requests.resetAt : now + retryAfter.toNanos(), now);
+            log.warn("OpenAI 요청 한도 초과(429) - {}ms 동안 새 호출 보류, 대기 {}건",
+                    TimeUnit.NANOSECONDS.toMillis(requests.resetAt - now), waiting.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Waiter enqueue(AiPriority priority, long estimatedTokens) {
+        Waiter waiter = new Waiter(priority, sequence++, estimatedTokens, lock.newCondition());
+        waiting.add(waiter);
+        queued.get(priority).incrementAndGet();
+        return waiter;
+    }
+
+    private void dequeue(Waiter waiter) {
+        if (waiting.remove(waiter)) {
+            queued.get(waiter.priority).decrementAndGet();
+        }
+    }
+
+    /**
+     * 맨 앞(가장 높은 우선순위, 가장 먼저 도착) 대기자부터 한도가 허락하는 만큼 통과시킵니다.
+     * 앞 대기자가 통과하지 못하면 뒤는 더 보지 않습니다. (낮은 우선순위가 높은 우선순위를 앞지르지 않도록)
+     */
+    private void dispatch() {
+        while (!waiting.isEmpty()) {
+            Waiter head = waiting.peek();
+            if (!admissible(head.priority, head.tokens)) {
+                return;
+            }
+            waiting.poll();
+            queued.get(head.priority).decrementAndGet();
+            consume(head.tokens);
+            head.admitted = true;
+            head.condition.signal();
+        }
+    }
+
+    private boolean hasWaitingAtOrAbove(AiPriority priority) {
+        Waiter head = waiting.peek();
+        return head != null && head.priority.compareTo(priority) <= 0;
+    }
+
+    private boolean admissible(AiPriority priority, long estimatedTokens) {
+        double reserve = properties.reserve(priority);
+        return requests.allows(1, reserve) && tokens.allows(estimatedTokens, reserve);
+    }
+
+    private void consume(long estimatedTokens) {
+        requests.consume(1);
+        tokens.consume(estimatedTokens);
+    }
+
+    private void refresh(long now) {
+        requests.refresh(now);
+        tokens.refresh(now);
+    }
+
+    /**
+     * 대기자가 다시 확인할 시점까지 남은 시간. 리셋 시각을 모르면 1초 간격으로 다시 확인합니다.
+     */
+    private long untilReset(long now) {
+        long next = Long.MAX_VALUE;
+        for (Bucket bucket : new Bucket[]{requests, tokens}) {
+            if (bucket.known() && bucket.resetAt > now) {
+                next = Math.min(next, bucket.resetAt - now);
+            }
+        }
+        return next == Long.MAX_VALUE ? IDLE_RECHECK_NANOS : Math.max(TimeUnit.MILLISECONDS.toNanos(1), next);
+    }
+
+    private BaseException shed(AiPriority priority) {
+        count(priority, "shed");
+        log.warn("OpenAI 요청 한도 부족 - {} 호출 포기 (남은 요청 {}, 토큰 {})",
+                priority, requests.remaining, tokens.remaining);
+        return new BaseException(ResultCode.AI_RATE_LIMITED);
+    }
+
+    private void count(AiPriority priority, String outcome) {
+        meterRegistry.counter("ai.scheduler.admitted",
+                "priority", priority.name().toLowerCase(), "outcome", outcome).increment();
+    }
+
+    private double remaining(Bucket bucket) {
+        lock.lock();
+        try {
+            return bucket.known() ? bucket.remaining : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * OpenAI 리셋 헤더 형식("1s", "6m0s", "120ms")을 해석합니다.
+     * @return 해석할 수 없으면 null
+     */
+    static Duration parseReset(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return matched ? Duration.ofMillis((long) millis) : null;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 한 종류(요청 수 또는 토큰 수)의 분당 한도. 스케줄러 락 안에서만 다룬다.
+     */
+    private static final class Bucket {
+
+        private long limit = -1;
+        private long remaining;
+        private long resetAt;
+
+        boolean known() {
+            return limit > 0;
+        }
+
+        void update(HttpHeaders headers, String type, long now) {
+            if (headers == null) {
+                return;
+            }
+            long newLimit = parseLong(headers.getFirst("x-ratelimit-limit-" + type));
+            long newRemaining = parseLong(headers.getFirst("x-ratelimit-remaining-" + type));
+            if (newLimit <= 0 || newRemaining < 0) {
+                return;
+            }
+            Duration reset = parseReset(headers.getFirst("x-ratelimit-reset-" + type));
+            limit = newLimit;
+            remaining = newRemaining;
+            resetAt = now + (reset == null ? WINDOW_NANOS : reset.toNanos());
+        }
+
+        void exhaust(long until, long now) {
+            if (!known()) {
+                limit = 1;
+            }
+            remaining = 0;
+            resetAt = Math.max(until, now);
+        }
+
+        /**
+         * 리셋 시각이 지났으면 한도가 모두 돌아온 것으로 보고, 리셋 시각을 한 창(1분) 뒤로 옮깁니다.
+         * 다음 헤더를 받기 전까지는 그 창 안에서 보낸 요청만큼 계속 차감됩니다. (리셋 시각을 그대로 두면 호출마다 다시 채워짐)
+         */
+        void refresh(long now) {
+            if (known() && now - resetAt >= 0) {
+                remaining = limit;
+                resetAt = now + WINDOW_NANOS;
+            }
+        }
+
+        boolean allows(long cost, double reserve) {
+            if (!known()) {
+                return true;
+            }
+            if (reserve <= 0) {
+                return remaining > 0;
+            }
+            return remaining - cost >= reserve * limit;
+        }
+
+        void consume(long cost) {
+            if (known()) {
+                remaining = Math.max(0, remaining - cost);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final AiPriority priority;
+        private final long sequence;
+        private final long tokens;
+        private final Condition condition;
+        private boolean admitted;
+
+        Waiter(AiPriority priority, long sequence, long tokens, Condition condition) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.tokens = tokens;
+            this.condition = condition;
+        }
+
+        AiPriority priority() {
+            return priority;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.buddy.buddyapi.domain.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * OpenAI 요청 한도 스케줄러 설정. application.yml 의 ai.scheduler 항목과 매핑된다.
+ *
+ * @param enabled                   false 면 한도와 무관하게 바로 호출 (헤더 기록만 유지)
+ * @param completionTokenEstimate   요청 전 토큰 한도에서 미리 빼 둘 응답 토큰 추정치 (프롬프트 토큰은 직접 계산)
+ * @param reserve                   우선순위별로 남겨 둬야 하는 한도 비율. 남은 한도가 이 비율 아래로 내려가면 그 우선순위는 대기한다.
+ *                                  (INTERACTIVE 는 0 - 한도가 남아 있으면 항상 호출)
+ * @param maxWait                   우선순위별 최대 대기 시간. 넘기면 호출하지 않고 AI_RATE_LIMITED 로 끝낸다. (0 이면 대기 없이 바로 포기)
+ */
+@ConfigurationProperties(prefix = "ai.scheduler")
+public record AiSchedulerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("400") int completionTokenEstimate,
+        Map<AiPriority, Double> reserve,
+        Map<AiPriority, Duration> maxWait
+) {
+
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(5);
+
+    public double reserve(AiPriority priority) {
+        return reserve == null ? 0 : reserve.getOrDefault(priority, 0.0);
+    }
+
+    public Duration maxWait(AiPriority priority) {
+        return maxWait == null ? DEFAULT_MAX_WAIT : maxWait.getOrDefault(priority, DEFAULT_MAX_WAIT);
+    }
+}
@@ -1,60 +1,109 @@
 package com.buddy.buddyapi.domain.ai;
 
 import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
-import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+import com.buddy.buddyapi.domain.ai.provider.AiCompletion;
+import com.buddy.buddyapi.domain.ai.provider.AiCompletionRequest;
+import com.buddy.buddyapi.domain.ai.provider.AiProvider;
+import com.buddy.buddyapi.domain.ai.provider.AiProviderRouter;
 import com.buddy.buddyapi.global.aspect.Timer;
-import com.buddy.buddyapi.global.exception.BaseException;
-import com.buddy.buddyapi.global.exception.ResultCode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 기능별 프롬프트를 조립해 AI 를 호출한다.
+ * 공급자/모델은 AiProviderRouter(ai.providers), 예산에 따른 조정은 AiBudgetPolicy,
+ * 데드라인/재시도/헤지/폴백은 AiGateway 가 담당한다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AiService {
 
-    private final String apiKey;
-    private final String apiUrl;
-    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-
-    public AiService(
-            @Value("${openai.api.key}") String apiKey,
-            @Value("${openai.api.url}") String apiUrl,
-            RestTemplate restTemplate,
-            ObjectMapper objectMapper) {
-        this.apiKey = apiKey;
-        this.apiUrl = apiUrl;
-        this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
-    }
+    private final OpenAiMetrics openAiMetrics;
+    private final AiUsageRecorder usageRecorder;
+    private final AiBudgetPolicy budgetPolicy;
+    private final AiGateway aiGateway;
+    private final AiProviderRouter providerRouter;
 
     /**
      * 채팅 시 openai 프롬프트 및 호출
+     * @param memberId 호출한 회원 (사용량 집계/예산 적용)
      * @param messages 조립이 완료된 전체 메시지 리스트 (System + History + User)
      * @return AI가 생성한 응답 문자열
      */
     @Timer
-    public String getChatResponse(List<OpenAiRequest.Message> messages) {
-        // 채팅은 빠르고 저렴한 4o-mini 사용, 온도는 0.7로 안정적이게!
-        return callOpenAi(messages, false, "gpt-4o-mini", 0.7);
+    public String getChatResponse(Long memberId, List<OpenAiRequest.Message> messages) {
+        // 채팅은 빠르고 저렴한 모델(ai.providers.routes.chat), 온도는 0.7로 안정적이게!
+        return callAi(memberId, AiFeature.CHAT, messages, false, 0.7);
+    }
+
+    /**
+     * 채팅 답변을 stream=true로 요청하여, 토큰이 도착하는 대로 onToken으로 넘겨줍니다.
+     * @param memberId 호출한 회원 (사용량 집계/예산 적용)
+     * @param messages 조립이 완료된 전체 메시지 리스트 (System + History + User)
+     * @param onToken  도착한 답변 조각을 받을 콜백 (SSE 전송 등)
+     * @return 스트림이 끝난 뒤 이어 붙인 전체 답변 문자열
+     */
+    @Timer
+    public String streamChatResponse(Long memberId, List<OpenAiRequest.Message> messages, Consumer<String> onToken) {
+        AiProviderRouter.Selection selection = providerRouter.select(AiFeature.CHAT, true);
+        AiBudgetPolicy.Plan plan = budgetPolicy.plan(memberId, AiFeature.CHAT, selection.model());
+        List<OpenAiRequest.Message> planned = plan.apply(messages);
+        AiProvider provider = selection.provider();
+
+        // 클라이언트로 토큰을 보내기 시작한 뒤에는 다른 모델로 폴백하지 않음 (답변이 섞이므로)
+        // 첫 토큰 시각은 게이트웨이 브레이커의 느린 호출 판단에도 사용 (스트림 전체 시간 대신)
+        AtomicLong firstTokenAt = new AtomicLong();
+        Consumer<String> tracked = token -> {
+            firstTokenAt.compareAndSet(0, System.nanoTime());
+            onToken.accept(token);
+        };
+        return aiGateway.stream(AiFeature.CHAT, provider.name(), plan.model(),
+                model -> invoke(memberId, provider, new AiCompletionRequest(AiFeature.CHAT, model, planned, 0.7, false),
+                        request -> provider.stream(request, tracked), firstTokenAt::get),
+                firstTokenAt::get);
+    }
+
+    /**
+     * 최근 대화 창에서 밀려난 오래된 대화를 기존 요약과 합쳐 새 롤링 요약을 만듭니다.
+     * @param memberId        호출한 회원 (사용량 집계/예산 적용)
+     * @param previousSummary 기존 요약 (없으면 null)
+     * @param transcript      새로 접을 대화 ("USER: 내용" 줄 단위)
+     * @return 새 요약 문자열
+     */
+    @Timer
+    public String summarizeChat(Long memberId, String previousSummary, String transcript) {
+        String userMessage = (previousSummary == null || previousSummary.isBlank())
+                ? String.format("[새 대화]\n%s", transcript)
+                : String.format("[이전 요약]\n%s\n\n[새 대화]\n%s", previousSummary, transcript);
+
+        List<OpenAiRequest.Message> messages = List.of(
+                new OpenAiRequest.Message("system", AiPrompt.CHAT_SUMMARY_SYSTEM_PROMPT),
+                new OpenAiRequest.Message("user", userMessage)
+        );
+
+        // 사실 위주의 짧은 요약이므로 온도는 0.3으로 낮게
+        return callAi(memberId, AiFeature.CHAT_SUMMARY, messages, false, 0.3);
     }
 
     /**
      * AI를 이용한 일기 작성 시 openai 호출
+     * @param memberId      호출한 회원 (사용량 집계/예산 적용)
      * @param conversations 해당 세션의 전체 대화 내역
      * @return AI가 생성한 일기 초안 문자열
      */
     @Timer
-    public String getDiaryDraft(String conversations) {
+    public String getDiaryDraft(Long memberId, String conversations) {
         String systemMessage = AiPrompt.DIARY_SYSTEM_PROMPT_RAW;
 
         List<OpenAiRequest.Message> messages = List.of(
@@ -64,16 +113,61 @@ public class AiService {
 
         // 일기는 퀄리티가 생명이므로 gpt-4o 사용, 온도를 0.85로 높여 감수성 높임
         // 비용문제로 일단 gpt-4o-mini 0.85 사용
-        return callOpenAi(messages, true, "gpt-4o-mini", 0.85);
+        return callAi(memberId, AiFeature.DIARY, messages, true, 0.85);
+    }
+
+    /**
+     * 긴 대화의 한 구간에서 일기 재료(사실, 감정, USER 원문 발화)를 정리합니다. (map 단계)
+     * @param memberId   호출한 회원 (사용량 집계/예산 적용)
+     * @param part       구간 번호 (1부터)
+     * @param totalParts 전체 구간 수
+     * @param segment    구간 대화 ("USER: 내용" 줄 단위)
+     * @return 구간 정리 문자열
+     */
+    @Timer
+    public String summarizeDiarySegment(Long memberId, int part, int totalParts, String segment) {
+        List<OpenAiRequest.Message> messages = List.of(
+                new OpenAiRequest.Message("system", AiPrompt.DIARY_SEGMENT_SYSTEM_PROMPT),
+                new OpenAiRequest.Message("user", String.format("[구간 %d/%d]\n%s", part, totalParts, segment))
+        );
+
+        // 사실 위주의 정리이므로 온도는 0.3으로 낮게
+        return callAi(memberId, AiFeature.DIARY_SEGMENT, messages, false, 0.3);
+    }
+
+    /**
+     * 구간별 정리를 모아 일기 초안을 작성합니다. (reduce 단계)
+     * @param memberId 호출한 회원 (사용량 집계/예산 적용)
+     * @param notes    시간순 구간 정리 목록
+     * @return AI가 생성한 일기 초안 문자열
+     */
+    @Timer
+    public String composeDiaryDraft(Long memberId, List<String> notes) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < notes.size(); i++) {
+            if (i > 0) {
+                joined.append("\n\n");
+            }
+            joined.append("[구간 ").append(i + 1).append('/').append(notes.size()).append("]\n").append(notes.get(i));
+        }
+
+        List<OpenAiRequest.Message> messages = List.of(
+                new OpenAiRequest.Message("system", AiPrompt.DIARY_SYSTEM_PROMPT_RAW),
+                new OpenAiRequest.Message("user", String.format(AiPrompt.DIARY_SEGMENTS_USER_PROMPT, joined))
+        );
+
+        // getDiaryDraft 와 같은 온도
+        return callAi(memberId, AiFeature.DIARY, messages, true, 0.85);
     }
 
     /**
      * 일주일 치 일기와 최다 태그를 기반으로 주간 아이덴티티(칭호)를 생성합니다.
+     * @param memberId      호출한 회원 (사용량 집계/예산 적용)
      * @param diaryContents 이번 주 일기 내용 리스트
      * @return AI가 생성한 JSON 문자열 (weeklyIdentity, weeklyTopTag 포함)
      */
     @Timer
-    public String getWeeklyIdentityDraft(List<String> diaryContents) {
+    public String getWeeklyIdentityDraft(Long memberId, List<String> diaryContents) {
 
         String systemMessage = AiPrompt.WEEKLY_IDENTITY_SYSTEM_PROMPT;
 
@@ -86,69 +180,76 @@ public class AiService {
                 new OpenAiRequest.Message("user", userMessage)
         );
 
-        // 짧고 명확한 요약이므로 gpt-4o-mini 사용, 온도는 0.7
-        return callOpenAi(messages, true, "gpt-4o-mini", 0.7);
+        // 짧고 명확한 요약이므로 온도는 0.7
+        return callAi(memberId, AiFeature.WEEKLY_IDENTITY, messages, true, 0.7);
     }
 
     /**
-     * openai 호출
+     * AI 호출. 라우팅 설정에 따라 공급자/모델을 고르고, 회원의 일일 토큰 예산에 따라 모델/컨텍스트가 조정될 수 있습니다.
+     * @param memberId 호출한 회원 (사용량 집계/예산 적용)
+     * @param feature  기능 구분
      * @param messages prompt AI에게 전달할 시스템 지시문
      * @param isJsonRequest 응답 형식이 JSON이어야 하는지 여부
+     * @param temperature   샘플링 온도
      * @return 정제된 AI 응답 문자열
      */
-    private String callOpenAi(List<OpenAiRequest.Message> messages, boolean isJsonRequest, String model, double temperature) {
-        // 요청 객체 생성
-        OpenAiRequest request = new OpenAiRequest(
-                model,
-                messages,
-                temperature
-        );
-
-        HttpEntity<OpenAiRequest> entity = new HttpEntity<>(request, createHeaders());
-
-        // 호출 및 응답 받기
-        try {
-            OpenAiResponse response = restTemplate.postForObject(apiUrl, entity, OpenAiResponse.class);
-
-            if (response == null || response.choices().isEmpty()) {
-                throw new BaseException(ResultCode.AI_PARSE_ERROR);
-            }
-
-            // OpenAI가 준 JSON 문자열(content)만 반환
-            String content = response.choices().get(0).message().content();
-            log.info("openai 응답 : {}", content);
-
-            // 채팅 요청인데 JSON 형식({ "content": "..." })으로 왔을 때 텍스트만 추출
-            if (!isJsonRequest && content.trim().startsWith("{")) {
-                try {
-                    JsonNode node = objectMapper.readTree(content);
-                    // 만약 내부 필드명이 "content"인 JSON이라면 그 값만 가져옴
-                    if (node.has("content")) {
-                        return node.get("content").asText();
-                    }
-                } catch (Exception e) {
-                    log.warn("응답이 JSON처럼 보이지만 파싱할 수 없습니다. 원문 그대로 반환합니다.");
+    private String callAi(Long memberId, AiFeature feature, List<OpenAiRequest.Message> messages,
+                          boolean isJsonRequest, double temperature) {
+        AiProviderRouter.Selection selection = providerRouter.select(feature, false);
+        AiBudgetPolicy.Plan plan = budgetPolicy.plan(memberId, feature, selection.model());
+        List<OpenAiRequest.Message> planned = plan.apply(messages);
+        AiProvider provider = selection.provider();
+
+        // 게이트웨이가 데드라인/재시도/헤지/모델 폴백을 적용하며 시도마다 공급자를 호출
+        String content = aiGateway.call(feature, provider.name(), plan.model(),
+                model -> invoke(memberId, provider, new AiCompletionRequest(feature, model, planned, temperature, isJsonRequest),
+                        provider::complete, null));
+        log.info("AI 응답 [{}] : {}", provider.name(), content);
+
+        // 채팅 요청인데 JSON 형식({ "content": "..." })으로 왔을 때 텍스트만 추출
+        if (!isJsonRequest && content.trim().startsWith("{")) {
+            try {
+                JsonNode node = objectMapper.readTree(content);
+                // 만약 내부 필드명이 "content"인 JSON이라면 그 값만 가져옴
+                if (node.has("content")) {
+                    return node.get("content").asText();
                 }
+            } catch (Exception e) {
+                log.warn("응답이 JSON처럼 보이지만 파싱할 수 없습니다. 원문 그대로 반환합니다.");
             }
-
-
-            return content;
-        } catch (Exception e) {
-            log.error("OpenAI 호출 실패: {}", e.getMessage());
-            throw new BaseException(ResultCode.AI_PARSE_ERROR);
         }
 
+        return content;
     }
 
     /**
-     * 헤더 생성
-     * @return 공통 헤더 규격
+     * 공급자를 한 번 호출하고 토큰 사용량과 라우팅용 지연을 기록합니다.
+     * 실패는 업스트림 장애일 때만 라우팅에 반영합니다. (이쪽에서 취소한 시도나 로컬에서 거절된 호출은 공급자 탓이 아님)
+     * @param firstTokenAt 스트리밍이면 첫 토큰을 받은 시각 (아직 없으면 0), 일반 호출이면 null
      */
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    private String invoke(Long memberId, AiProvider provider, AiCompletionRequest request,
+                          Function<AiCompletionRequest, AiCompletion> call, LongSupplier firstTokenAt) {
+        boolean streaming = firstTokenAt != null;
+        long start = System.nanoTime();
+        try {
+            AiCompletion completion = call.apply(request);
+            providerRouter.record(provider.name(), request.feature(), streaming, latency(start, firstTokenAt));
+            openAiMetrics.recordUsage(request.feature(), request.model(), completion.usage());
+            usageRecorder.record(memberId, request.feature(), request.model(), completion.usage());
+            return completion.content();
+        } catch (RuntimeException e) {
+            if (!AiGateway.isCancelled(e) && AiGateway.isUpstreamFailure(e)) {
+                providerRouter.recordFailure(provider.name(), request.feature(), streaming, System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
 
-        return headers;
+    /**
+     * 라우팅용 지연. 스트리밍은 첫 토큰까지 (첫 토큰 없이 끝났으면 전체 시간)
+     */
+    private static long latency(long start, LongSupplier firstTokenAt) {
+        long firstToken = firstTokenAt == null ? 0 : firstTokenAt.getAsLong();
+        return (firstToken != 0 && firstToken - start >= 0 ? firstToken : System.nanoTime()) - start;
     }
 }
@@ -0,0 +1,201 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OpenAI 토큰 사용량을 회원/기능/모델별로 모아 Redis 일별 카운터에 반영한다.
+ * <ul>
+ *     <li>요청 경로에서는 메모리에만 누적 (Redis 왕복 없음)</li>
+ *     <li>flush-interval 마다 파이프라인 HINCRBY 로 한 번에 반영, 실패 시 다음 주기에 재시도</li>
+ *     <li>키: ai:usage:{yyyyMMdd}:{memberId}, 필드: {feature}:{model}:prompt_tokens | completion_tokens | calls, total_tokens</li>
+ *     <li>오늘 누적 토큰은 마지막 flush 결과(Redis, 다른 인스턴스 포함) + 아직 반영 전 값으로 메모리에서 바로 조회</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AiUsageRecorder {
+
+    private static final String KEY_PREFIX = "ai:usage:";
+    private static final String TOTAL_FIELD = "total_tokens";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long KEY_TTL_SECONDS = Duration.ofDays(8).toSeconds();
+
+    // 항목당 명령 5개: prompt, completion, calls, total(결과 사용), expire
+    private static final int COMMANDS_PER_ENTRY = 5;
+    private static final int TOTAL_RESULT_INDEX = 3;
+
+    private final StringRedisTemplate redisTemplate;
+
+    // 아직 Redis 에 반영되지 않은 사용량 (compute 로만 갱신해서 drain 과 원자적으로 분리)
+    private final ConcurrentHashMap<UsageKey, long[]> pending = new ConcurrentHashMap<>();
+
+    private volatile DailyTotals dailyTotals = new DailyTotals(today());
+
+    public AiUsageRecorder(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 응답 1건의 사용량을 누적합니다. (메모리 연산만 수행)
+     *
+     * @param memberId 호출한 회원 (시스템 호출이면 null → 집계 제외)
+     * @param feature  기능 구분
+     * @param model    실제 호출한 모델
+     * @param usage    OpenAI 응답의 usage (없으면 무시)
+     */
+    public void record(Long memberId, AiFeature feature, String model, OpenAiResponse.Usage usage) {
+        if (memberId == null || usage == null) {
+            return;
+        }
+        long prompt = usage.prompt_tokens() != null ? usage.prompt_tokens() : 0;
+        long completion = usage.completion_tokens() != null ? usage.completion_tokens() : 0;
+        LocalDate day = today();
+
+        pending.compute(new UsageKey(day, memberId, feature, model), (key, counts) -> {
+            long[] next = counts != null ? counts : new long[3];
+            next[0] += prompt;
+            next[1] += completion;
+            next[2] += 1;
+            return next;
+        });
+        totalsOf(day).member(memberId).pendingTokens.add(prompt + completion);
+    }
+
+    /**
+     * 회원의 오늘(KST) 누적 토큰 수. Redis 를 조회하지 않습니다.
+     *
+     * @param memberId 회원 PK
+     * @return 마지막 flush 시점의 Redis 값 + 아직 반영 전 사용량
+     */
+    public long todayTokens(Long memberId) {
+        DailyTotals totals = totalsOf(today());
+        MemberTotal total = totals.members.get(memberId);
+        return total == null ? 0 : total.redisTokens + total.pendingTokens.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.usage.flush-interval:5s}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UsageKey, long[]>> drained = new ArrayList<>();
+        for (UsageKey key : pending.keySet()) {
+            long[] counts = pending.remove(key);
+            if (counts != null) {
+                drained.add(Map.entry(key, counts));
+            }
+        }
+
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                drained.forEach(entry -> increment(connection, entry.getKey(), entry.getValue()));
+                return null;
+            });
+            applyTotals(drained, results);
+        } catch (Exception e) {
+            log.warn("AI 사용량 Redis 반영 실패 - 다음 주기에 재시도: {}건, {}", drained.size(), e.getMessage());
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), (current, failed) -> {
+                current[0] += failed[0];
+                current[1] += failed[1];
+                current[2] += failed[2];
+                return current;
+            }));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void increment(RedisConnection connection, UsageKey key, long[] counts) {
+        byte[] redisKey = bytes(KEY_PREFIX + key.day().format(DAY_FORMAT) + ":" + key.memberId());
+        String fieldPrefix = key.feature().getKey() + ":" + key.model() + ":";
+
+        connection.hashCommands().hIncrBy(redisKey, bytes(fieldPrefix + "prompt_tokens"), counts[0]);
+        connection.hashCommands().hIncrBy(redisKey, bytes(fieldPrefix + "completion_tokens"), counts[1]);
+        connection.hashCommands().hIncrBy(redisKey, bytes(fieldPrefix + "calls"), counts[2]);
+        connection.hashCommands().hIncrBy(redisKey, bytes(TOTAL_FIELD), counts[0] + counts[1]);
+        connection.keyCommands().expire(redisKey, KEY_TTL_SECONDS);
+    }
+
+    private void applyTotals(List<Map.Entry<UsageKey, long[]>> drained, List<Object> results) {
+        DailyTotals totals = dailyTotals;
+        for (int i = 0; i < drained.size(); i++) {
+            UsageKey key = drained.get(i).getKey();
+            if (!key.day().equals(totals.day)) {
+                continue; // 날짜가 바뀐 뒤 반영된 어제 사용량은 오늘 합계에 넣지 않음
+            }
+            long[] counts = drained.get(i).getValue();
+            MemberTotal total = totals.member(key.memberId());
+            total.pendingTokens.add(-(counts[0] + counts[1]));
+
+            Object redisTotal = results.get(i * COMMANDS_PER_ENTRY + TOTAL_RESULT_INDEX);
+            if (redisTotal instanceof Long value) {
+                // 같은 회원의 항목이 여러 개면 마지막(가장 큰) 값이 남음
+                total.redisTokens = Math.max(total.redisTokens, value);
+            }
+        }
+    }
+
+    private DailyTotals totalsOf(LocalDate day) {
+        DailyTotals totals = dailyTotals;
+        if (!totals.day.equals(day)) {
+            synchronized (this) {
+                if (!dailyTotals.day.equals(day)) {
+                    dailyTotals = new DailyTotals(day);
+                }
+                totals = dailyTotals;
+            }
+        }
+        return totals;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZONE);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record UsageKey(LocalDate day, Long memberId, AiFeature feature, String model) {}
+
+    private static final class DailyTotals {
+        private final LocalDate day;
+        private final ConcurrentHashMap<Long, MemberTotal> members = new ConcurrentHashMap<>();
+
+        private DailyTotals(LocalDate day) {
+            this.day = day;
+        }
+
+        private MemberTotal member(Long memberId) {
+            return members.computeIfAbsent(memberId, id -> new MemberTotal());
+        }
+    }
+
+    private static final class MemberTotal {
+        private volatile long redisTokens;
+        private final LongAdder pendingTokens = new LongAdder();
+    }
+}
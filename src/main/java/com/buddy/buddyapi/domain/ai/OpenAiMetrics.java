@@ -0,0 +1,61 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 호출 메트릭.
+ * <ul>
+ *     <li>openai.request : 호출 지연 (feature, model, stream, outcome)</li>
+ *     <li>openai.tokens  : 요청당 토큰 사용량 (feature, model, type=prompt/completion)</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenAiMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, AiFeature feature, String model, boolean stream, boolean success) {
+        sample.stop(Timer.builder("openai.request")
+                .description("OpenAI Chat Completions 호출 시간")
+                .tag("feature", feature.getKey())
+                .tag("model", model)
+                .tag("stream", String.valueOf(stream))
+                .tag("outcome", success ? "SUCCESS" : "ERROR")
+                .register(meterRegistry));
+    }
+
+    public void recordUsage(AiFeature feature, String model, OpenAiResponse.Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        recordTokens(feature, model, "prompt", usage.prompt_tokens());
+        recordTokens(feature, model, "completion", usage.completion_tokens());
+        if (usage.prompt_tokens_details() != null) {
+            recordTokens(feature, model, "cached", usage.prompt_tokens_details().cached_tokens());
+        }
+    }
+
+    private void recordTokens(AiFeature feature, String model, String type, Integer tokens) {
+        if (tokens == null) {
+            return;
+        }
+        DistributionSummary.builder("openai.tokens")
+                .description("OpenAI 요청당 토큰 사용량")
+                .baseUnit("tokens")
+                .tag("feature", feature.getKey())
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+}
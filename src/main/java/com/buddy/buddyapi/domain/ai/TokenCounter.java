@@ -0,0 +1,36 @@
+package com.buddy.buddyapi.domain.ai;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 호출 전에 프롬프트 토큰 수를 로컬에서 계산한다. (gpt-4o 계열 o200k_base 인코딩)
+ * 네트워크 호출 없이 계산하므로 요청 경로에서 컨텍스트 크기를 맞추는 데 사용한다.
+ */
+@Component
+public class TokenCounter {
+
+    // 메시지마다 role/구분자 등으로 붙는 고정 토큰 (OpenAI 가이드 기준 근사치)
+    static final int MESSAGE_OVERHEAD = 4;
+
+    private final Encoding encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.O200K_BASE);
+
+    /**
+     * @param text 계산할 문자열 (null 이면 0)
+     * @return 토큰 수
+     */
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+
+    /**
+     * @param message 계산할 메시지
+     * @return 내용 토큰 수 + 메시지 고정 토큰
+     */
+    public int count(OpenAiRequest.Message message) {
+        return MESSAGE_OVERHEAD + count(message.content());
+    }
+}
@@ -1,11 +1,29 @@
 package com.buddy.buddyapi.domain.ai.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record OpenAiRequest(
         String model,
         List<Message> messages,
-        double temperature
+        double temperature,
+        Boolean stream, // 스트리밍 요청일 때만 true, 일반 요청에서는 필드 자체를 생략
+        StreamOptions stream_options
 ) {
+    public OpenAiRequest(String model, List<Message> messages, double temperature) {
+        this(model, messages, temperature, null, null);
+    }
+
+    /**
+     * 스트리밍 요청. 마지막 chunk 로 토큰 사용량(usage)을 함께 받는다.
+     */
+    public static OpenAiRequest streaming(String model, List<Message> messages, double temperature) {
+        return new OpenAiRequest(model, messages, temperature, true, new StreamOptions(true));
+    }
+
+    public record StreamOptions(boolean include_usage) {}
+
     public record Message(String role, String content) {}
 }
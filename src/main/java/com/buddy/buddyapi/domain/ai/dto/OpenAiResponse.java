@@ -3,7 +3,8 @@ package com.buddy.buddyapi.domain.ai.dto;
 import java.util.List;
 
 public record OpenAiResponse(
-        List<Choice> choices
+        List<Choice> choices,
+        Usage usage
 ) {
     // 내부 레코드로 정의하되, Jackson이 인식하기 좋게 분리
     public record Choice(
@@ -16,4 +17,21 @@ public record OpenAiResponse(
             String role,
             String content
     ) {}
-}
\ No newline at end of file
+
+    /**
+     * 요청 1건의 토큰 사용량 (스트리밍은 stream_options.include_usage=true 일 때 마지막 chunk 에 포함)
+     */
+    public record Usage(
+            Integer prompt_tokens,
+            Integer completion_tokens,
+            Integer total_tokens,
+            PromptTokensDetails prompt_tokens_details
+    ) {}
+
+    /**
+     * @param cached_tokens prompt_tokens 중 프롬프트 캐시에서 처리된 토큰 (할인 과금)
+     */
+    public record PromptTokensDetails(
+            Integer cached_tokens
+    ) {}
+}
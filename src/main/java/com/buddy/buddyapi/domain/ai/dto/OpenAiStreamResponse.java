@@ -0,0 +1,22 @@
+package com.buddy.buddyapi.domain.ai.dto;
+
+import java.util.List;
+
+/**
+ * stream=true 요청 시 OpenAI가 SSE(data: ...)로 한 줄씩 내려주는 chunk 객체
+ */
+public record OpenAiStreamResponse(
+        List<Choice> choices,
+        OpenAiResponse.Usage usage // include_usage 요청 시 마지막 chunk 에만 존재 (choices 는 빈 배열)
+) {
+    public record Choice(
+            Delta delta,
+            String finish_reason,
+            Integer index
+    ) {}
+
+    public record Delta(
+            String role,
+            String content
+    ) {}
+}
@@ -0,0 +1,13 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+
+/**
+ * @param content 응답 문자열
+ * @param usage   토큰 사용량 (알 수 없으면 null, 형식은 OpenAI usage 와 같음)
+ */
+public record AiCompletion(
+        String content,
+        OpenAiResponse.Usage usage
+) {
+}
@@ -0,0 +1,23 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.AiFeature;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+
+import java.util.List;
+
+/**
+ * 공급자에 상관없는 호출 내용
+ * @param feature     기능 구분 (메트릭, 로컬 공급자의 응답 템플릿 선택)
+ * @param model       이번 시도에 사용할 모델
+ * @param messages    System + History + User 순서의 메시지 (role/content)
+ * @param temperature 샘플링 온도
+ * @param json        응답이 JSON 이어야 하는지 여부
+ */
+public record AiCompletionRequest(
+        AiFeature feature,
+        String model,
+        List<OpenAiRequest.Message> messages,
+        double temperature,
+        boolean json
+) {
+}
@@ -0,0 +1,31 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import java.util.function.Consumer;
+
+/**
+ * 채팅 완성(Chat Completion) 호출을 제공하는 AI 공급자.
+ * 빈으로 등록하면 AiProviderRouter 가 name() 으로 찾아 ai.providers 라우팅 규칙에 따라 사용한다.
+ * 업스트림 장애는 RestClientException 으로 던져야 AiGateway 가 재시도/폴백/브레이커에 반영한다.
+ */
+public interface AiProvider {
+
+    /**
+     * @return 라우팅 설정과 메트릭에 쓰는 공급자 이름 (예: openai, local)
+     */
+    String name();
+
+    /**
+     * 응답 전체를 한 번에 받습니다.
+     * @param request 호출 내용 (모델, 메시지, 온도 등)
+     * @return 응답 문자열과 토큰 사용량
+     */
+    AiCompletion complete(AiCompletionRequest request);
+
+    /**
+     * 응답을 토큰 단위로 받으면서 onToken 으로 넘깁니다.
+     * @param request 호출 내용
+     * @param onToken 도착한 답변 조각 콜백
+     * @return 이어 붙인 전체 응답과 토큰 사용량
+     */
+    AiCompletion stream(AiCompletionRequest request, Consumer<String> onToken);
+}
@@ -0,0 +1,62 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.AiFeature;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 공급자 라우팅 설정. application.yml 의 ai.providers 항목과 매핑된다.
+ *
+ * @param strategy     후보가 여러 개일 때 고르는 기준
+ * @param defaultRoute 기능별 설정이 없을 때 사용하는 후보/모델
+ * @param routes       기능별 후보 공급자(우선순위 순)와 모델
+ * @param costs        공급자별 상대 비용 (CHEAPEST 전략, 설정이 없으면 0)
+ * @param exploreRate  FASTEST 전략에서 지연 기록을 갱신하려고 가장 빠른 후보 대신 무작위 후보를 고르는 비율
+ * @param local        로컬 공급자 설정
+ */
+@ConfigurationProperties(prefix = "ai.providers")
+public record AiProviderProperties(
+        @DefaultValue("PRIORITY") Strategy strategy,
+        @DefaultValue Route defaultRoute,
+        Map<AiFeature, Route> routes,
+        Map<String, Double> costs,
+        @DefaultValue("0.05") double exploreRate,
+        @DefaultValue Local local
+) {
+
+    public enum Strategy {
+        PRIORITY,   // 목록의 첫 번째 공급자
+        CHEAPEST,   // costs 가 가장 낮은 공급자 (같으면 목록 순서)
+        FASTEST     // 최근 지연(EWMA)이 가장 짧은 공급자 (기록이 없는 후보를 먼저 시도)
+    }
+
+    /**
+     * @param providers 후보 공급자 이름 (AiProvider.name)
+     * @param model     기본 모델 (예산 정책에 따라 다운그레이드될 수 있음)
+     */
+    public record Route(
+            @DefaultValue("openai") List<String> providers,
+            @DefaultValue("gpt-4o-mini") String model
+    ) {}
+
+    /**
+     * @param latency    응답 전 대기 시간
+     * @param tokenDelay 스트리밍 조각 사이 대기 시간
+     */
+    public record Local(
+            @DefaultValue("300ms") Duration latency,
+            @DefaultValue("20ms") Duration tokenDelay
+    ) {}
+
+    public Route route(AiFeature feature) {
+        return routes == null ? defaultRoute : routes.getOrDefault(feature, defaultRoute);
+    }
+
+    public double cost(String provider) {
+        return costs == null ? 0 : costs.getOrDefault(provider, 0.0);
+    }
+}
@@ -0,0 +1,175 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.AiFeature;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 기능별로 호출할 AI 공급자와 모델을 고른다. (ai.providers)
+ * <ul>
+ *     <li>PRIORITY: 후보 목록의 첫 번째</li>
+ *     <li>CHEAPEST: costs 가 가장 낮은 후보</li>
+ *     <li>FASTEST: 최근 지연(EWMA)이 가장 짧은 후보. 기록이 없는 후보를 먼저 시도하고, explore-rate 비율로 무작위 후보를 골라 기록을 갱신</li>
+ * </ul>
+ * 업스트림 장애로 실패한 호출은 FAILURE_PENALTY 만큼 걸린 것으로 기록해서 장애 중인 공급자가 FASTEST 에서 밀려나게 한다.
+ * 스트리밍 호출은 첫 토큰까지의 지연을 따로 기록한다. (답변 전체 시간은 답변 길이에 따라 달라서 일반 호출과 비교할 수 없음)
+ * 메트릭: ai.provider.routed{feature,provider}, ai.provider.latency.ewma{feature,provider,mode}
+ */
+@Slf4j
+@Component
+public class AiProviderRouter {
+
+    private static final double EWMA_ALPHA = 0.2;
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Map<String, AiProvider> providers;
+    private final AiProviderProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // {feature}:{stream|complete}:{provider} → 최근 지연
+    private final ConcurrentHashMap<String, LatencyEwma> latencies = new ConcurrentHashMap<>();
+
+    public AiProviderRouter(List<AiProvider> providers, AiProviderProperties properties, MeterRegistry meterRegistry) {
+        this.providers = providers.stream().collect(Collectors.toMap(AiProvider::name, Function.identity()));
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        // 설정 오타는 첫 호출이 아니라 기동 시점에 드러나도록 검증
+        validate(properties.defaultRoute());
+        if (properties.routes() != null) {
+            properties.routes().values().forEach(this::validate);
+        }
+        log.info("AI 공급자 라우팅 - strategy={}, providers={}", properties.strategy(), this.providers.keySet());
+    }
+
+    /**
+     * @param feature   기능 구분
+     * @param streaming 스트리밍 호출인지 (FASTEST 에서 같은 방식의 기록끼리 비교)
+     * @return 이번 호출에 사용할 공급자와 기본 모델
+     */
+    public Selection select(AiFeature feature, boolean streaming) {
+        AiProviderProperties.Route route = properties.route(feature);
+        AiProvider provider = providers.get(choose(feature, streaming, route.providers()));
+        meterRegistry.counter("ai.provider.routed", "feature", feature.getKey(), "provider", provider.name()).increment();
+        return new Selection(provider, route.model());
+    }
+
+    /**
+     * 성공한 호출 한 번의 지연을 기록합니다. (FASTEST 전략)
+     * @param provider  호출한 공급자 이름
+     * @param feature   기능 구분
+     * @param streaming 스트리밍 호출인지
+     * @param nanos     걸린 시간 (스트리밍은 첫 토큰까지)
+     */
+    public void record(String provider, AiFeature feature, boolean streaming, long nanos) {
+        latency(feature, streaming, provider).update(nanos);
+    }
+
+    /**
+     * 업스트림 장애(5xx, 429, 타임아웃)로 실패한 호출을 FAILURE_PENALTY 이상 걸린 것으로 기록합니다.
+     * 이쪽에서 취소한 시도(헤지 패자, 데드라인)나 로컬에서 거절된 호출, 400 등 요청 자체의 문제는 기록하지 않습니다.
+     */
+    public void recordFailure(String provider, AiFeature feature, boolean streaming, long nanos) {
+        latency(feature, streaming, provider).update(Math.max(nanos, FAILURE_PENALTY_NANOS));
+    }
+
+    private String choose(AiFeature feature, boolean streaming, List<String> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        return switch (properties.strategy()) {
+            case PRIORITY -> candidates.get(0);
+            case CHEAPEST -> candidates.stream()
+                    .min(Comparator.comparingDouble(properties::cost))
+                    .orElseThrow();
+            case FASTEST -> fastest(feature, streaming, candidates);
+        };
+    }
+
+    private String fastest(AiFeature feature, boolean streaming, List<String> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < properties.exploreRate()) {
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+
+        String best = null;
+        double bestNanos = Double.MAX_VALUE;
+        for (String candidate : candidates) {
+            LatencyEwma ewma = latencies.get(key(feature, streaming, candidate));
+            if (ewma == null || !ewma.observed()) {
+                return candidate;
+            }
+            if (ewma.nanos() < bestNanos) {
+                best = candidate;
+                bestNanos = ewma.nanos();
+            }
+        }
+        return best;
+    }
+
+    private LatencyEwma latency(AiFeature feature, boolean streaming, String provider) {
+        return latencies.computeIfAbsent(key(feature, streaming, provider), k -> {
+            LatencyEwma ewma = new LatencyEwma();
+            Gauge.builder("ai.provider.latency.ewma", ewma, e -> e.nanos() / 1e9)
+                    .description("공급자별 최근 호출 지연 (지수 이동 평균, 스트리밍은 첫 토큰까지, 업스트림 장애는 패널티 반영)")
+                    .baseUnit("seconds")
+                    .tag("feature", feature.getKey())
+                    .tag("provider", provider)
+                    .tag("mode", mode(streaming))
+                    .register(meterRegistry);
+            return ewma;
+        });
+    }
+
+    private void validate(AiProviderProperties.Route route) {
+        for (String name : route.providers()) {
+            if (!providers.containsKey(name)) {
+                throw new IllegalStateException("ai.providers 에 등록되지 않은 공급자입니다: " + name);
+            }
+        }
+    }
+
+    private static String key(AiFeature feature, boolean streaming, String provider) {
+        return feature.getKey() + ":" + mode(streaming) + ":" + provider;
+    }
+
+    private static String mode(boolean streaming) {
+        return streaming ? "stream" : "complete";
+    }
+
+    /**
+     * @param provider 호출할 공급자
+     * @param model    기능별 기본 모델 (예산 정책 적용 전)
+     */
+    public record Selection(AiProvider provider, String model) {}
+
+    private static final class LatencyEwma {
+
+        private double nanos;
+        private boolean observed;
+
+        synchronized void update(long sample) {
+            nanos = observed ? EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * nanos : sample;
+            observed = true;
+        }
+
+        synchronized double nanos() {
+            return nanos;
+        }
+
+        synchronized boolean observed() {
+            return observed;
+        }
+    }
+}
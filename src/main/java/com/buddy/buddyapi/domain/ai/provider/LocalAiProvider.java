@@ -0,0 +1,133 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.TokenCounter;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 외부 호출 없이 프로세스 안에서 응답을 만드는 결정적(deterministic) 공급자. (부하 테스트, CI, 오프라인 실행용)
+ * <ul>
+ *     <li>같은 입력(마지막 user 메시지)에는 항상 같은 응답</li>
+ *     <li>기능별 응답 형식을 지킴: 일기 초안/주간 칭호는 프롬프트가 요구하는 JSON, 요약은 평문</li>
+ *     <li>지연: latency 만큼 기다린 뒤 응답, 스트리밍은 조각마다 token-delay 추가 (ai.providers.local.*)</li>
+ *     <li>토큰 사용량은 TokenCounter 로 계산해 돌려줌 (사용량 집계/예산 정책이 그대로 동작)</li>
+ * </ul>
+ */
+@Component
+public class LocalAiProvider implements AiProvider {
+
+    public static final String NAME = "local";
+
+    private static final int STREAM_CHUNK_CHARS = 4;
+    private static final int EXCERPT_CHARS = 200;
+
+    private static final List<String> CHAT_REPLIES = List.of(
+            "헐 진짜? 그래서 어떻게 됐어?",
+            "아 그거 완전 공감돼. 오늘 제일 기억에 남는 건 뭐야?",
+            "고생 많았다 진짜. 지금은 좀 쉬고 있어?",
+            "오 대박이다ㅋㅋ 그 얘기 더 해줘.",
+            "그랬구나. 그때 기분은 어땠어?"
+    );
+
+    private final TokenCounter tokenCounter;
+    private final ObjectMapper objectMapper;
+    private final Duration latency;
+    private final Duration tokenDelay;
+
+    public LocalAiProvider(TokenCounter tokenCounter, ObjectMapper objectMapper, AiProviderProperties properties) {
+        this.tokenCounter = tokenCounter;
+        this.objectMapper = objectMapper;
+        this.latency = properties.local().latency();
+        this.tokenDelay = properties.local().tokenDelay();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public AiCompletion complete(AiCompletionRequest request) {
+        pause(latency);
+        String content = render(request);
+        return new AiCompletion(content, usage(request, content));
+    }
+
+    @Override
+    public AiCompletion stream(AiCompletionRequest request, Consumer<String> onToken) {
+        pause(latency);
+        String content = render(request);
+        for (int i = 0; i < content.length(); i += STREAM_CHUNK_CHARS) {
+            onToken.accept(content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_CHARS)));
+            pause(tokenDelay);
+        }
+        return new AiCompletion(content, usage(request, content));
+    }
+
+    private String render(AiCompletionRequest request) {
+        String input = lastUserMessage(request.messages());
+        return switch (request.feature()) {
+            case CHAT -> CHAT_REPLIES.get(Math.floorMod(input.hashCode(), CHAT_REPLIES.size()));
+            case CHAT_SUMMARY, DIARY_SEGMENT -> "대화 요약: " + excerpt(input);
+            case DIARY -> toJson(new DiaryDraft("오늘의 기록", excerpt(input), List.of("일상", "기록")));
+            case WEEKLY_IDENTITY -> toJson(new WeeklyIdentity("꾸준한 기록러", "일상"));
+        };
+    }
+
+    private String lastUserMessage(List<OpenAiRequest.Message> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if ("user".equals(messages.get(i).role())) {
+                return messages.get(i).content();
+            }
+        }
+        return "";
+    }
+
+    private String excerpt(String text) {
+        String flattened = text.replace('\n', ' ').strip();
+        return flattened.length() <= EXCERPT_CHARS ? flattened : flattened.substring(0, EXCERPT_CHARS);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(ResultCode.AI_PARSE_ERROR);
+        }
+    }
+
+    private OpenAiResponse.Usage usage(AiCompletionRequest request, String content) {
+        int prompt = request.messages().stream().mapToInt(tokenCounter::count).sum();
+        int completion = tokenCounter.count(content);
+        return new OpenAiResponse.Usage(prompt, completion, prompt + completion, null);
+    }
+
+    /**
+     * 설정한 지연을 흉내냅니다. 게이트웨이가 시도를 취소(interrupt)하면 업스트림 장애가 아닌 것으로 끝냅니다.
+     */
+    private void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ResultCode.AI_UNAVAILABLE);
+        }
+    }
+
+    // AiPrompt.DIARY_SYSTEM_PROMPT_RAW / WEEKLY_IDENTITY_SYSTEM_PROMPT 가 요구하는 응답 형식
+    private record DiaryDraft(String title, String content, List<String> tags) {}
+
+    private record WeeklyIdentity(String weeklyIdentity, String weeklyKeyword) {}
+}
@@ -0,0 +1,231 @@
+package com.buddy.buddyapi.domain.ai.provider;
+
+import com.buddy.buddyapi.domain.ai.AiRateLimitScheduler;
+import com.buddy.buddyapi.domain.ai.AiSchedulerProperties;
+import com.buddy.buddyapi.domain.ai.OpenAiMetrics;
+import com.buddy.buddyapi.domain.ai.TokenCounter;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiResponse;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiStreamResponse;
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * OpenAI Chat Completions 공급자. (openai.api.url)
+ * 요청/응답 JSON 형식(OpenAiRequest/OpenAiResponse)은 이 클래스 안에서만 다룬다.
+ * 호출 전 AiRateLimitScheduler 로 기능 우선순위에 맞춰 요청 한도를 확보하고, 응답 헤더로 남은 한도를 갱신한다.
+ */
+@Slf4j
+@Component
+public class OpenAiProvider implements AiProvider {
+
+    public static final String NAME = "openai";
+
+    private final String apiKey;
+    private final String apiUrl;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final OpenAiMetrics openAiMetrics;
+    private final AiRateLimitScheduler scheduler;
+    private final TokenCounter tokenCounter;
+    private final int completionTokenEstimate;
+
+    public OpenAiProvider(
+            @Value("${openai.api.key}") String apiKey,
+            @Value("${openai.api.url}") String apiUrl,
+            @Qualifier("openAiRestTemplate") RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            OpenAiMetrics openAiMetrics,
+            AiRateLimitScheduler scheduler,
+            TokenCounter tokenCounter,
+            AiSchedulerProperties schedulerProperties) {
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.openAiMetrics = openAiMetrics;
+        this.scheduler = scheduler;
+        this.tokenCounter = tokenCounter;
+        this.completionTokenEstimate = schedulerProperties.completionTokenEstimate();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Chat Completions 를 한 번 호출합니다. 업스트림 오류(RestClientException)는 재시도/폴백 판단을 위해 그대로 던집니다.
+     */
+    @Override
+    public AiCompletion complete(AiCompletionRequest request) {
+        OpenAiRequest body = new OpenAiRequest(request.model(), request.messages(), request.temperature());
+        HttpEntity<OpenAiRequest> entity = new HttpEntity<>(body, createHeaders());
+
+        // 한도 대기 시간은 HTTP 지연 메트릭에 넣지 않음
+        scheduler.acquire(request.feature().getPriority(), estimateTokens(request));
+
+        var sample = openAiMetrics.start();
+        boolean success = false;
+        try {
+            ResponseEntity<OpenAiResponse> result = restTemplate.postForEntity(apiUrl, entity, OpenAiResponse.class);
+            scheduler.observe(result.getHeaders());
+            OpenAiResponse response = result.getBody();
+
+            if (response == null || response.choices().isEmpty()) {
+                throw new BaseException(ResultCode.AI_PARSE_ERROR);
+            }
+            success = true;
+
+            // OpenAI가 준 JSON 문자열(content)만 반환
+            return new AiCompletion(response.choices().get(0).message().content(), response.usage());
+        } catch (HttpStatusCodeException e) {
+            observeFailure(e);
+            log.warn("OpenAI 호출 실패 model={}: {}", request.model(), e.getMessage());
+            throw e;
+        } catch (RestClientException e) {
+            log.warn("OpenAI 호출 실패 model={}: {}", request.model(), e.getMessage());
+            throw e;
+        } finally {
+            openAiMetrics.stop(sample, request.feature(), request.model(), false, success);
+        }
+    }
+
+    /**
+     * stream=true 로 한 번 호출하여 토큰이 도착하는 대로 onToken 으로 넘깁니다.
+     * 업스트림 오류(RestClientException)는 폴백 판단을 위해 그대로 던집니다.
+     */
+    @Override
+    public AiCompletion stream(AiCompletionRequest request, Consumer<String> onToken) {
+        OpenAiRequest body = OpenAiRequest.streaming(request.model(), request.messages(), request.temperature());
+
+        HttpHeaders headers = createHeaders();
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        HttpEntity<OpenAiRequest> entity = new HttpEntity<>(body, headers);
+
+        scheduler.acquire(request.feature().getPriority(), estimateTokens(request));
+
+        var sample = openAiMetrics.start();
+        boolean success = false;
+        try {
+            AiCompletion result = restTemplate.execute(apiUrl, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(entity),
+                    response -> {
+                        scheduler.observe(response.getHeaders());
+                        return readStream(response.getBody(), onToken);
+                    });
+
+            if (result == null || result.content().isBlank()) {
+                throw new BaseException(ResultCode.AI_PARSE_ERROR);
+            }
+            success = true;
+            return result;
+        } catch (HttpStatusCodeException e) {
+            observeFailure(e);
+            throw e;
+        } catch (BaseException | RestClientException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("OpenAI 스트리밍 호출 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.AI_PARSE_ERROR);
+        } finally {
+            openAiMetrics.stop(sample, request.feature(), request.model(), true, success);
+        }
+    }
+
+    /**
+     * OpenAI SSE 응답을 한 줄씩 읽어 delta.content를 콜백으로 넘기고 전체 답변을 누적합니다.
+     * "data: [DONE]" 을 만나면 종료합니다.
+     * @param body    OpenAI 응답 스트림
+     * @param onToken 답변 조각 콜백
+     * @return 누적된 전체 답변과 마지막 chunk 의 토큰 사용량
+     */
+    private AiCompletion readStream(InputStream body, Consumer<String> onToken) throws IOException {
+        StringBuilder content = new StringBuilder();
+        OpenAiResponse.Usage usage = null;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // 빈 줄(이벤트 구분자), keep-alive 주석 등은 무시
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+
+            String data = line.substring(5).trim();
+            if ("[DONE]".equals(data)) {
+                break;
+            }
+
+            OpenAiStreamResponse chunk = objectMapper.readValue(data, OpenAiStreamResponse.class);
+            if (chunk.usage() != null) {
+                usage = chunk.usage();
+            }
+            if (chunk.choices() == null || chunk.choices().isEmpty() || chunk.choices().get(0).delta() == null) {
+                continue;
+            }
+
+            String token = chunk.choices().get(0).delta().content();
+            if (token == null || token.isEmpty()) {
+                continue;
+            }
+
+            content.append(token);
+            onToken.accept(token);
+        }
+
+        return new AiCompletion(content.toString(), usage);
+    }
+
+    /**
+     * 오류 응답의 한도 헤더를 반영하고, 429 면 리셋 시각까지 새 호출을 보류시킵니다.
+     */
+    private void observeFailure(HttpStatusCodeException e) {
+        if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            scheduler.onRateLimited(e.getResponseHeaders());
+        } else {
+            scheduler.observe(e.getResponseHeaders());
+        }
+    }
+
+    /**
+     * 토큰 한도에서 미리 차감할 양 = 프롬프트 토큰 + 응답 추정치
+     */
+    private long estimateTokens(AiCompletionRequest request) {
+        return request.messages().stream().mapToLong(tokenCounter::count).sum() + completionTokenEstimate;
+    }
+
+    /**
+     * 헤더 생성
+     * @return 공통 헤더 규격
+     */
+    private HttpHeaders createHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+
+        return headers;
+    }
+}
@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
@@ -45,12 +46,16 @@ public class OauthService {
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
     private final ApplicationEventPublisher eventPublisher;
-    private final RestTemplate restTemplate;
+    @Qualifier("kakaoRestTemplate")
+    private final RestTemplate kakaoRestTemplate;
+    @Qualifier("naverRestTemplate")
+    private final RestTemplate naverRestTemplate;
 
     private final GoogleTokenVerifier googleTokenVerifier;
     private final KakaoTokenVerifier kakaoTokenVerifier;
     private final NaverTokenVerifier naverTokenVerifier;
     private final AppleTokenVerifier appleTokenVerifier;
+    private final SocialVerificationCache verificationCache;
 
     @Value("${spring.security.oauth2.client.registration.naver.client-id}")
     private String naverClientId;
@@ -63,12 +68,13 @@ public class OauthService {
 
     /**
      * 각 소셜 제공자별 알맞은 토큰 검증기(Verifier)를 호출하여 유저 정보를 추출합니다.
+     * 카카오/네이버는 재시도 요청이 외부 API 를 다시 호출하지 않도록 검증 결과를 짧게 캐시합니다.
      */
     public OAuthUserInfo verifyOauthToken(String provider, String token) {
         return switch (provider.toLowerCase()) {
             case "google" -> googleTokenVerifier.verify(token);
-            case "kakao" -> kakaoTokenVerifier.verify(token);
-            case "naver" -> naverTokenVerifier.verify(token);
+            case "kakao" -> verificationCache.verify("kakao", token, kakaoTokenVerifier::verify);
+            case "naver" -> verificationCache.verify("naver", token, naverTokenVerifier::verify);
             case "apple" -> appleTokenVerifier.verify(token);
             default -> throw new BaseException(ResultCode.UNSUPPORTED_PROVIDER);
         };
@@ -227,7 +233,7 @@ public class OauthService {
             body.add("target_id", oauthId);
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<String> response = restTemplate.postForEntity(reqURL, request, String.class);
+            ResponseEntity<String> response = kakaoRestTemplate.postForEntity(reqURL, request, String.class);
 
             log.info("🟢 카카오 연결 끊기 성공: {}", response.getBody());
         } catch (Exception e) {
@@ -267,7 +273,6 @@ public class OauthService {
      */
     private boolean sendNaverDeleteRequest(String accessToken) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String reqURL = "https://nid.naver.com/oauth2.0/token";
 
             HttpHeaders headers = new HttpHeaders();
@@ -281,7 +286,7 @@ public class OauthService {
             body.add("service_provider", "NAVER");
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<String> response = restTemplate.postForEntity(reqURL, request, String.class);
+            ResponseEntity<String> response = naverRestTemplate.postForEntity(reqURL, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("🟢 네이버 연결 끊기 성공!");
@@ -298,7 +303,6 @@ public class OauthService {
      */
     private String refreshNaverToken(String refreshToken) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String reqURL = "https://nid.naver.com/oauth2.0/token";
 
             HttpHeaders headers = new HttpHeaders();
@@ -311,7 +315,7 @@ public class OauthService {
             body.add("refresh_token", refreshToken);
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<JsonNode> response = restTemplate.postForEntity(reqURL, request, JsonNode.class);
+            ResponseEntity<JsonNode> response = naverRestTemplate.postForEntity(reqURL, request, JsonNode.class);
 
             // 갱신된 새 액세스 토큰 반환
             return response.getBody().path("access_token").asText(null);
@@ -0,0 +1,252 @@
+package com.buddy.buddyapi.domain.auth.component;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Apple 공개키(JWKS) 캐시.
+ * 파싱이 끝난 RSA PublicKey 를 kid 로 색인해 두고, 응답의 Cache-Control max-age 동안 재사용한다.
+ * <ul>
+ *     <li>만료 전에 스케줄러가 백그라운드로 갱신하므로 로그인 요청은 네트워크를 타지 않는다.</li>
+ *     <li>모르는 kid(키 로테이션)가 오면 한 번만 다시 받아오며, 동시에 몰린 요청은 같은 조회 결과를 기다린다(single-flight).</li>
+ *     <li>직전에 받아온 지 얼마 안 됐다면 모르는 kid 로 재조회하지 않아, 위조 토큰으로 Apple 서버를 두드리는 것을 막는다.</li>
+ *     <li>만료된 키셋은 다시 받아온 키셋에 kid 가 없으면(로테이션으로 빠진 키) 거부하고, 조회 자체가 실패했을 때만 기존 키로 검증한다.</li>
+ *     <li>조회에 실패하면 기존 키셋의 만료를 MIN_REFETCH_INTERVAL 만큼 미뤄서, Apple 장애 중에 로그인마다 타임아웃을 기다리지 않게 한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AppleJwksKeyStore {
+
+    private static final String APPLE_PUBLIC_KEYS_URL = "https://appleid.apple.com/auth/keys";
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);    // Cache-Control 이 없을 때
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(5);    // 만료 5분 전부터 백그라운드 갱신
+    private static final Duration MIN_REFETCH_INTERVAL = Duration.ofSeconds(30); // 모르는 kid 재조회 최소 간격
+
+    private final RestTemplate restTemplate;
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private final AtomicReference<CompletableFuture<KeySet>> inFlight = new AtomicReference<>();
+
+    public AppleJwksKeyStore(@Qualifier("appleJwksRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * kid 에 해당하는 Apple 공개키를 반환합니다.
+     *
+     * @param kid JWT 헤더의 Key ID
+     * @return RSA PublicKey
+     * @throws BaseException 키를 찾을 수 없거나(INVALID_TOKEN) 조회에 실패한 경우(APPLE_PUBLIC_KEY_FETCH_FAILED)
+     */
+    public PublicKey getKey(String kid) {
+        if (kid == null) {
+            throw new BaseException(ResultCode.INVALID_TOKEN, "Apple 토큰 헤더에 kid 가 없습니다.");
+        }
+
+        KeySet current = keySet;
+        PublicKey key = current.keys().get(kid);
+
+        if (key != null && !current.isExpired()) {
+            return key;
+        }
+
+        if (key != null) {
+            // 만료된 키셋: 갱신을 시도하되, Apple 장애 시에는 기존 키로 계속 검증
+            KeySet refreshed;
+            try {
+                refreshed = refresh();
+            } catch (BaseException e) {
+                log.warn("Apple 공개키 갱신 실패 - 만료된 캐시 키로 검증을 계속합니다. kid={}", kid);
+                return key;
+            }
+            // 새 키셋에서 빠진 kid 는 Apple 이 폐기한 키
+            PublicKey rotated = refreshed.keys().get(kid);
+            if (rotated == null) {
+                throw new BaseException(ResultCode.INVALID_TOKEN, "Apple 공개키 kid 불일치");
+            }
+            return rotated;
+        }
+
+        // 모르는 kid: 방금 받아온 키셋에도 없었다면 재조회하지 않음
+        if (current.fetchedRecently()) {
+            throw new BaseException(ResultCode.INVALID_TOKEN, "Apple 공개키 kid 불일치");
+        }
+
+        PublicKey refreshed = refresh().keys().get(kid);
+        if (refreshed == null) {
+            throw new BaseException(ResultCode.INVALID_TOKEN, "Apple 공개키 kid 불일치");
+        }
+        return refreshed;
+    }
+
+    /**
+     * 만료가 가까워진 키셋을 미리 갱신합니다. (기동 직후 1회 + 1분 간격)
+     * 실패해도 기존 키셋은 유지됩니다.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void refreshInBackground() {
+        if (!keySet.expiresWithin(REFRESH_AHEAD)) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Apple 공개키 백그라운드 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 키셋을 다시 받아옵니다. 이미 누군가 조회 중이면 그 결과를 함께 기다립니다.
+     */
+    private KeySet refresh() {
+        CompletableFuture<KeySet> future = new CompletableFuture<>();
+        CompletableFuture<KeySet> existing = inFlight.compareAndExchange(null, future);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            KeySet fetched = fetch();
+            keySet = fetched;
+            future.complete(fetched);
+            return fetched;
+        } catch (RuntimeException e) {
+            // 장애 중에는 기존 키셋을 잠시 더 쓰고, 그 사이 호출이 다시 Apple 을 기다리지 않게 함
+            keySet = keySet.extendedBy(MIN_REFETCH_INTERVAL);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private KeySet await(CompletableFuture<KeySet> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BaseException baseException) {
+                throw baseException;
+            }
+            throw new BaseException(ResultCode.APPLE_PUBLIC_KEY_FETCH_FAILED);
+        }
+    }
+
+    private KeySet fetch() {
+        ResponseEntity<ApplePublicKeyResponse> response;
+        try {
+            response = restTemplate.getForEntity(APPLE_PUBLIC_KEYS_URL, ApplePublicKeyResponse.class);
+        } catch (Exception e) {
+            log.error("Apple 공개키 조회 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.APPLE_PUBLIC_KEY_FETCH_FAILED);
+        }
+
+        ApplePublicKeyResponse body = response.getBody();
+        if (body == null || body.keys() == null || body.keys().isEmpty()) {
+            throw new BaseException(ResultCode.APPLE_PUBLIC_KEY_FETCH_FAILED);
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (ApplePublicKeyResponse.ApplePublicKey key : body.keys()) {
+            try {
+                keys.put(key.kid(), buildRsaPublicKey(key));
+            } catch (Exception e) {
+                log.warn("Apple RSA 공개키 생성 실패 kid={}: {}", key.kid(), e.getMessage());
+            }
+        }
+
+        Duration maxAge = parseMaxAge(response.getHeaders());
+        log.info("Apple 공개키 {}개 갱신 (max-age={}s)", keys.size(), maxAge.toSeconds());
+
+        Instant now = Instant.now();
+        return new KeySet(Map.copyOf(keys), now, now.plus(maxAge));
+    }
+
+    private Duration parseMaxAge(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return DEFAULT_MAX_AGE;
+        }
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        return matcher.find() ? Duration.ofSeconds(Long.parseLong(matcher.group(1))) : DEFAULT_MAX_AGE;
+    }
+
+    /**
+     * n(modulus), e(exponent) Base64 값으로 RSA PublicKey 객체를 생성한다.
+     */
+    private PublicKey buildRsaPublicKey(ApplePublicKeyResponse.ApplePublicKey key) throws Exception {
+        BigInteger modulus  = new BigInteger(1, Base64.getUrlDecoder().decode(key.n()));
+        BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(key.e()));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+
+    /**
+     * 한 번에 받아온 키 묶음 (불변, 통째로 교체)
+     */
+    private record KeySet(Map<String, PublicKey> keys, Instant fetchedAt, Instant expiresAt) {
+
+        private static final KeySet EMPTY = new KeySet(Map.of(), Instant.EPOCH, Instant.EPOCH);
+
+        boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+
+        boolean expiresWithin(Duration duration) {
+            return Instant.now().plus(duration).isAfter(expiresAt);
+        }
+
+        boolean fetchedRecently() {
+            return Instant.now().isBefore(fetchedAt.plus(MIN_REFETCH_INTERVAL));
+        }
+
+        /**
+         * 조회 실패 후 기존 키를 그대로 두고 지금부터 backoff 동안 만료되지 않은 것으로 봅니다.
+         */
+        KeySet extendedBy(Duration backoff) {
+            Instant retryAt = Instant.now().plus(backoff);
+            return retryAt.isAfter(expiresAt) ? new KeySet(keys, fetchedAt, retryAt) : this;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Apple 공개키 응답 전용 내부 DTO
+    // -------------------------------------------------------------------------
+
+    private record ApplePublicKeyResponse(
+            @JsonProperty("keys") List<ApplePublicKey> keys
+    ) {
+        private record ApplePublicKey(
+                String kty, String kid, String use, String alg,
+                String n,
+                String e
+        ) {
+        }
+    }
+}
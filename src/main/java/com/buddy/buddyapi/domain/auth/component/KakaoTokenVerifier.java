@@ -5,11 +5,13 @@ import com.buddy.buddyapi.global.exception.ResultCode;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -18,6 +20,7 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class KakaoTokenVerifier {
 
+    @Qualifier("kakaoRestTemplate")
     private final RestTemplate restTemplate;
 
     private static final String KAKAO_TOKEN_URL = "https://kauth.kakao.com/oauth/token";
@@ -75,9 +78,14 @@ public class KakaoTokenVerifier {
         try {
             ResponseEntity<OAuthTokenResponse> response = restTemplate.postForEntity(KAKAO_TOKEN_URL, request, OAuthTokenResponse.class);
             return response.getBody();
-        } catch (Exception e) {
+        } catch (HttpClientErrorException e) {
+            // 4xx: 만료/재사용된 인가 코드 등 요청 자체가 거절된 경우
             log.error("카카오 토큰 발급 실패: {}", e.getMessage());
             throw new BaseException(ResultCode.INVALID_TOKEN);
+        } catch (Exception e) {
+            // 타임아웃, 5xx 등 통신 문제 (토큰이 잘못된 것이 아니므로 구분)
+            log.error("카카오 토큰 발급 통신 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.SOCIAL_PROVIDER_UNAVAILABLE);
         }
     }
 
@@ -108,10 +116,16 @@ public class KakaoTokenVerifier {
             // 원본 객체 그대로 던져주기 (SocialProfile은 잊으세요!)
             return responseBody;
 
-        } catch (RestClientException e) {
-            // 네이버 서버가 터졌거나, 파라미터가 틀렸을 때 (HTTP 에러)
+        } catch (BaseException e) {
+            throw e;
+        } catch (HttpClientErrorException e) {
+            // 파라미터가 틀렸거나 토큰이 거절됐을 때 (4xx)
             log.error("카카오 API 통신 에러 (HTTP 상태 코드 문제): {}", e.getMessage());
             throw new BaseException(ResultCode.INVALID_TOKEN);
+        } catch (RestClientException e) {
+            // 카카오 서버가 터졌거나 응답이 없을 때
+            log.error("카카오 API 통신 에러: {}", e.getMessage());
+            throw new BaseException(ResultCode.SOCIAL_PROVIDER_UNAVAILABLE);
         } catch (Exception e) {
             // 그 외의 예상치 못한 런타임 에러 (NullPointer 등)
             log.error("카카오 토큰 처리 중 알 수 없는 서버 에러 발생: ", e); // e를 넘겨서 스택 트레이스 전체 출력
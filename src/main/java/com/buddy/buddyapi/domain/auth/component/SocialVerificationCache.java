@@ -0,0 +1,110 @@
+package com.buddy.buddyapi.domain.auth.component;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * 카카오/네이버 로그인 검증 결과를 짧게 보관하는 캐시.
+ * 모바일 네트워크 불안정으로 같은 코드/토큰을 몇 초 안에 다시 보내는 경우 외부 API 를 다시 호출하지 않는다.
+ * <ul>
+ *     <li>키: provider + 토큰의 SHA-256 해시 (원문 토큰은 보관하지 않음)</li>
+ *     <li>성공 결과는 success-ttl, 거절(INVALID_TOKEN)은 failure-ttl 동안 보관 (네거티브 캐시)</li>
+ *     <li>통신 장애(SOCIAL_PROVIDER_UNAVAILABLE 등)는 캐시하지 않아 재시도 시 다시 호출</li>
+ *     <li>hit/miss 는 cache.gets{cache=social.verification} 메트릭으로 노출</li>
+ * </ul>
+ */
+@Component
+public class SocialVerificationCache {
+
+    private final Cache<String, Verification> cache;
+
+    public SocialVerificationCache(
+            @Value("${social-login.verification-cache.success-ttl:60s}") Duration successTtl,
+            @Value("${social-login.verification-cache.failure-ttl:10s}") Duration failureTtl,
+            @Value("${social-login.verification-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Verification>() {
+                    @Override
+                    public long expireAfterCreate(String key, Verification value, long currentTime) {
+                        return (value.isSuccess() ? successTtl : failureTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Verification value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Verification value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "social.verification");
+    }
+
+    /**
+     * 캐시에 검증 결과가 있으면 그대로, 없으면 verifier 를 호출해 결과를 저장하고 반환합니다.
+     * 같은 키로 동시에 들어온 요청은 한 번의 외부 호출 결과를 공유합니다.
+     *
+     * @param provider 소셜 제공자 (kakao, naver)
+     * @param token    프론트에서 받은 인가 코드/토큰
+     * @param verifier 실제 외부 검증 로직
+     * @return 검증된 유저 정보
+     * @throws BaseException 토큰이 거절된 경우 (캐시된 거절 포함)
+     */
+    public OAuthUserInfo verify(String provider, String token, Function<String, OAuthUserInfo> verifier) {
+        Verification verification = cache.get(cacheKey(provider, token), key -> load(token, verifier));
+
+        if (!verification.isSuccess()) {
+            throw new BaseException(verification.failure());
+        }
+        return verification.userInfo();
+    }
+
+    private Verification load(String token, Function<String, OAuthUserInfo> verifier) {
+        try {
+            return new Verification(verifier.apply(token), null);
+        } catch (BaseException e) {
+            if (e.getResultCode() == ResultCode.INVALID_TOKEN) {
+                return new Verification(null, ResultCode.INVALID_TOKEN);
+            }
+            throw e; // 통신 장애 등은 캐시하지 않음
+        }
+    }
+
+    private String cacheKey(String provider, String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((provider + ":" + token).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Verification(OAuthUserInfo userInfo, ResultCode failure) {
+        boolean isSuccess() {
+            return failure == null;
+        }
+    }
+}
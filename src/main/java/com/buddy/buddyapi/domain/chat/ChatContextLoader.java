@@ -0,0 +1,104 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.chat.dto.ChatContext;
+import com.buddy.buddyapi.domain.chat.dto.ChatContextRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 채팅 컨텍스트 read-through 로더.
+ * Redis 키가 없거나(만료/eviction/failover), Redis 를 쓸 수 없거나, 저장 실패로 stale 표시된 세션이면
+ * chat_message 에서 최근 max-messages 건을 다시 읽고, Redis 는 비동기로 다시 채운다.
+ * 요약이 남아 있으면 요약이 덮는 앞쪽 메시지(folded)는 건너뛰고 그 뒤 구간만 읽어서 요약과 히스토리가 겹치지 않게 한다.
+ * Redis 를 다시 채우는 작업은 DB 를 읽기 전에 본 ver 가 그대로일 때만 반영된다. ({@link ChatContextStore#repopulate})
+ * 서킷이 열려 있는 동안에는 Redis 를 기다리지 않고 바로 DB 에서 읽는다.
+ * (요약은 Redis 에만 있으므로 Redis 를 쓸 수 없으면 요약 없이 최근 대화만 사용)
+ */
+@Slf4j
+@Component
+public class ChatContextLoader {
+
+    private final ChatContextStore chatContextStore;
+    private final ChatMessageRepository chatMessageRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxMessages;
+
+    public ChatContextLoader(
+            ChatContextStore chatContextStore,
+            ChatMessageRepository chatMessageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chat.context.max-messages:10}") int maxMessages) {
+        this.chatContextStore = chatContextStore;
+        this.chatMessageRepository = chatMessageRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * 세션의 요약과 최근 대화 컨텍스트를 조회합니다. 호출하는 트랜잭션 안에서 DB 를 읽습니다.
+     * @param sessionId 대화 세션 ID
+     * @return 요약과 오래된 순서의 메시지 목록 (최대 max-messages 개)
+     */
+    public ChatContext load(Long sessionId) {
+        if (chatContextStore.isUnavailable()) {
+            return rebuild(sessionId, null, "circuit_open");
+        }
+
+        Optional<ChatContextStore.Snapshot> cached = chatContextStore.read(sessionId);
+        if (cached.isEmpty()) {
+            return rebuild(sessionId, null, "unavailable");
+        }
+        if (cached.get().stale()) {
+            return rebuild(sessionId, cached.get(), "stale");
+        }
+        if (cached.get().context().history().isEmpty()) {
+            return rebuild(sessionId, cached.get(), "miss");
+        }
+        return cached.get().context();
+    }
+
+    /**
+     * DB 에서 요약 이후 구간의 최근 메시지를 읽어 컨텍스트를 만들고, Redis 를 읽을 수 있었으면 비동기로 다시 채웁니다.
+     * @param snapshot Redis 에서 읽은 요약/ver (Redis 를 쓸 수 없으면 null → 요약 없이 최근 대화만, 다시 채우지 않음)
+     */
+    private ChatContext rebuild(Long sessionId, ChatContextStore.Snapshot snapshot, String reason) {
+        meterRegistry.counter("chat.context.rebuild", "reason", reason).increment();
+
+        String summary = snapshot == null ? null : snapshot.context().summary();
+        long folded = snapshot == null ? 0L : snapshot.folded();
+
+        long messageCount = chatMessageRepository.countBySessionId(sessionId);
+        int limit = (int) Math.min(maxMessages, Math.max(0L, messageCount - folded));
+        List<ChatContextRow> rows = limit == 0
+                ? List.of()
+                : chatMessageRepository.findRecentContext(sessionId, Limit.of(limit));
+        if (rows.isEmpty()) {
+            return new ChatContext(summary, List.of());
+        }
+
+        // 최신순으로 읽었으므로 뒤집어서 오래된 순서로 맞춤
+        List<OpenAiRequest.Message> history = new ArrayList<>(rows.size());
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            ChatContextRow row = rows.get(i);
+            history.add(new OpenAiRequest.Message(toRole(row.role()), row.content()));
+        }
+
+        if (snapshot != null) {
+            chatContextStore.repopulate(sessionId, snapshot.version(), messageCount, history);
+        }
+        log.debug("채팅 컨텍스트 DB 복구: sessionId={}, reason={}, size={}", sessionId, reason, history.size());
+        return new ChatContext(summary, history);
+    }
+
+    private static String toRole(SenderRole role) {
+        return role == SenderRole.USER ? "user" : "assistant";
+    }
+}
@@ -0,0 +1,92 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.TokenCounter;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.chat.dto.ChatContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 토큰 예산 기준으로 채팅 컨텍스트를 관리한다.
+ * <ul>
+ *     <li>조회: 최근 턴부터 token-budget 안에 들어가는 만큼만 프롬프트에 넣음 (메시지 개수 고정 X, 턴 단위로 자름)</li>
+ *     <li>저장: 턴을 붙인 뒤, 예산을 넘긴 오래된 대화는 {@link ChatSummaryFolder} 가 비동기로 요약에 접어 넣음</li>
+ * </ul>
+ * 프롬프트 크기 = 시스템 프롬프트 + 요약(400자 이내) + 예산 이내 히스토리 + 현재 메시지로 상한이 정해진다.
+ */
+@Component
+public class ChatContextManager {
+
+    private final ChatContextLoader chatContextLoader;
+    private final ChatContextStore chatContextStore;
+    private final ChatSummaryFolder chatSummaryFolder;
+    private final TokenCounter tokenCounter;
+    private final int tokenBudget;
+    private final DistributionSummary historyTokens;
+
+    public ChatContextManager(
+            ChatContextLoader chatContextLoader,
+            ChatContextStore chatContextStore,
+            ChatSummaryFolder chatSummaryFolder,
+            TokenCounter tokenCounter,
+            MeterRegistry meterRegistry,
+            @Value("${chat.context.token-budget:1200}") int tokenBudget) {
+        this.chatContextLoader = chatContextLoader;
+        this.chatContextStore = chatContextStore;
+        this.chatSummaryFolder = chatSummaryFolder;
+        this.tokenCounter = tokenCounter;
+        this.tokenBudget = tokenBudget;
+        this.historyTokens = DistributionSummary.builder("chat.context.tokens")
+                .description("채팅 프롬프트에 넣은 과거 대화 토큰 수")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 프롬프트에 넣을 요약과 최근 대화를 조회합니다.
+     * @param sessionId 대화 세션 ID
+     * @return 요약과 token-budget 안에 들어가는 최근 턴의 메시지 목록 (오래된 순서, 항상 사용자 메시지로 시작)
+     */
+    public ChatContext load(Long sessionId) {
+        ChatContext context = chatContextLoader.load(sessionId);
+        List<OpenAiRequest.Message> history = context.history();
+
+        // 최근 턴(사용자 메시지 + AI 답변)부터 거꾸로 쌓다가 예산을 넘기는 턴에서 멈춤.
+        // 턴 단위로만 넣고 빼므로 사용자 메시지가 잘린 AI 답변으로 히스토리가 시작하지 않음
+        int used = 0;
+        int start = history.size();
+        int turnTokens = 0;
+        for (int i = history.size() - 1; i >= 0; i--) {
+            OpenAiRequest.Message message = history.get(i);
+            turnTokens += tokenCounter.count(message);
+            if (!"user".equals(message.role())) {
+                continue;
+            }
+            if (used + turnTokens > tokenBudget) {
+                break;
+            }
+            used += turnTokens;
+            turnTokens = 0;
+            start = i;
+        }
+        historyTokens.record(used);
+
+        return start == 0 ? context : new ChatContext(context.summary(), history.subList(start, history.size()));
+    }
+
+    /**
+     * 한 턴을 컨텍스트에 붙이고, 예산을 넘겼으면 비동기 요약 접기를 요청합니다.
+     * @param memberId    회원 ID (요약 호출 사용량 집계)
+     * @param sessionId   대화 세션 ID
+     * @param userContent 사용자 메시지
+     * @param aiContent   AI 답변
+     */
+    public void append(Long memberId, Long sessionId, String userContent, String aiContent) {
+        chatContextStore.append(sessionId, userContent, aiContent);
+        chatSummaryFolder.foldIfNeeded(memberId, sessionId);
+    }
+}
@@ -0,0 +1,316 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.chat.dto.ChatContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 채팅 세션별 최근 대화 컨텍스트(Redis List)와 롤링 요약 저장소.
+ * <ul>
+ *     <li>키: chat:history:{sessionId}, 원소: "u|내용" / "a|내용" (JSON 대신 역할 접두어 + 원문)</li>
+ *     <li>요약 키: chat:summary:{sessionId}, 히스토리에서 접혀 나간 오래된 대화의 요약 (같은 TTL)</li>
+ *     <li>메타 키: chat:context-meta:{sessionId} 해시 (같은 TTL)
+ *         <ul>
+ *             <li>ver: 히스토리/요약을 바꿀 때마다 증가. DB 복구 결과는 읽을 때의 ver 가 그대로일 때만 반영</li>
+ *             <li>end: 히스토리 마지막 원소가 세션의 몇 번째 메시지인지 (세션 메시지 수 기준 서수)</li>
+ *             <li>folded: 요약이 세션 앞에서부터 몇 개의 메시지를 덮는지 (DB 복구 시 이만큼 건너뜀)</li>
+ *         </ul>
+ *     </li>
+ *     <li>저장: RPUSH(2건) + LTRIM + EXPIRE 를 Lua 스크립트 한 번으로 원자적으로 처리 (왕복 1회).
+ *         키가 없으면 이번 턴만 담긴 불완전한 히스토리를 만들지 않고, 다음 조회 때 DB 에서 다시 채우게 둠</li>
+ *     <li>조회: 요약 GET + LRANGE 를 스크립트 한 번으로, 접두어만 잘라 Message 로 변환 (Jackson 파싱 없음)</li>
+ *     <li>접기: 앞쪽 N개 LTRIM + 새 요약 SET 을 원자적으로 처리 ({@link ChatSummaryFolder})</li>
+ *     <li>이전 JSON 형식 원소는 읽을 때만 Jackson 으로 변환 (TTL 내 자연 소멸)</li>
+ *     <li>모든 Redis 호출은 서킷 브레이커를 거치며, 열려 있으면 시도하지 않고 바로 실패로 처리</li>
+ * </ul>
+ * 저장에 실패한 세션은 Redis 내용이 DB 보다 뒤처졌을 수 있으므로 stale 로 표시해 두고,
+ * 다음 조회 때 {@link ChatContextLoader} 가 DB 에서 다시 채우도록 한다. (인스턴스 로컬 표시)
+ */
+@Slf4j
+@Component
+public class ChatContextStore {
+
+    private static final String KEY_PREFIX = "chat:history:";
+    private static final String SUMMARY_KEY_PREFIX = "chat:summary:";
+    private static final String META_KEY_PREFIX = "chat:context-meta:";
+    private static final String USER_PREFIX = "u|";
+    private static final String ASSISTANT_PREFIX = "a|";
+
+    // KEYS[1]=history, KEYS[2]=summary, KEYS[3]=meta
+    // 결과: [요약(없으면 ''), ver(없으면 '0'), folded(없으면 ''), 히스토리...]
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = RedisScript.of("""
+            local entries = redis.call('LRANGE', KEYS[1], 0, -1)
+            local meta = redis.call('HMGET', KEYS[3], 'ver', 'folded')
+            table.insert(entries, 1, meta[2] or '')
+            table.insert(entries, 1, meta[1] or '0')
+            table.insert(entries, 1, redis.call('GET', KEYS[2]) or '')
+            return entries
+            """, List.class);
+
+    // KEYS[1]=history, KEYS[2]=summary, KEYS[3]=meta, ARGV[1]=user, ARGV[2]=assistant, ARGV[3]=최대 보관 개수, ARGV[4]=TTL(초)
+    // 히스토리 키가 없거나 서수(end)를 모르는 이전 형식이면 붙이지 않고 ver 만 올림 → 진행 중인 DB 복구는 버려지고 다음 조회에서 다시 복구
+    private static final RedisScript<Long> APPEND_SCRIPT = RedisScript.of("""
+            redis.call('HINCRBY', KEYS[3], 'ver', 1)
+            redis.call('EXPIRE', KEYS[3], tonumber(ARGV[4]))
+            if redis.call('EXISTS', KEYS[1]) == 0 or not redis.call('HGET', KEYS[3], 'end') then
+                redis.call('DEL', KEYS[1])
+                return 0
+            end
+            redis.call('RPUSH', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('LTRIM', KEYS[1], -tonumber(ARGV[3]), -1)
+            redis.call('HINCRBY', KEYS[3], 'end', 2)
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[4]))
+            redis.call('EXPIRE', KEYS[2], tonumber(ARGV[4]))
+            return redis.call('LLEN', KEYS[1])
+            """, Long.class);
+
+    // KEYS[1]=history, KEYS[2]=summary, KEYS[3]=meta, ARGV[1]=접을 첫 원소(그 사이 다른 접기가 끝났는지 확인), ARGV[2]=접을 개수,
+    // ARGV[3]=새 요약, ARGV[4]=TTL(초)
+    // 남은 히스토리 바로 앞까지가 요약 구간이므로 folded = end - (접은 뒤 남은 개수)
+    private static final RedisScript<Long> FOLD_SCRIPT = RedisScript.of("""
+            if redis.call('LINDEX', KEYS[1], 0) ~= ARGV[1] then
+                return 0
+            end
+            local last = redis.call('HGET', KEYS[3], 'end')
+            if last then
+                local remaining = redis.call('LLEN', KEYS[1]) - tonumber(ARGV[2])
+                redis.call('HSET', KEYS[3], 'folded', tonumber(last) - remaining)
+            end
+            redis.call('LTRIM', KEYS[1], tonumber(ARGV[2]), -1)
+            redis.call('SET', KEYS[2], ARGV[3], 'EX', tonumber(ARGV[4]))
+            redis.call('HINCRBY', KEYS[3], 'ver', 1)
+            redis.call('EXPIRE', KEYS[3], tonumber(ARGV[4]))
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=history, KEYS[2]=meta, ARGV[1]=DB 를 읽기 전에 본 ver, ARGV[2]=마지막 원소의 서수(end), ARGV[3]=TTL(초), ARGV[4..]=원소
+    // 그 사이 턴이 붙었거나 접혔으면(ver 변경) 오래된 스냅샷이므로 아무것도 바꾸지 않음
+    private static final RedisScript<Long> REPLACE_SCRIPT = RedisScript.of("""
+            if tonumber(redis.call('HGET', KEYS[2], 'ver') or '0') ~= tonumber(ARGV[1]) then
+                return -1
+            end
+            redis.call('DEL', KEYS[1])
+            if #ARGV > 3 then
+                redis.call('RPUSH', KEYS[1], unpack(ARGV, 4))
+                redis.call('EXPIRE', KEYS[1], tonumber(ARGV[3]))
+            end
+            redis.call('HSET', KEYS[2], 'end', ARGV[2])
+            redis.call('HINCRBY', KEYS[2], 'ver', 1)
+            redis.call('EXPIRE', KEYS[2], tonumber(ARGV[3]))
+            return #ARGV - 3
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final String maxMessages;
+    private final String ttlSeconds;
+    private final Cache<Long, Boolean> staleSessions;
+
+    public ChatContextStore(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Value("${chat.context.max-messages:10}") int maxMessages,
+            @Value("${chat.context.ttl:12h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.maxMessages = String.valueOf(maxMessages);
+        this.ttlSeconds = String.valueOf(ttl.toSeconds());
+        this.staleSessions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Redis 에서 읽은 세션 컨텍스트와 DB 복구에 필요한 메타 정보
+     * @param context 요약(없으면 null)과 오래된 순서의 메시지 목록 (키가 없으면 빈 목록)
+     * @param version 읽은 시점의 ver ({@link #repopulate} 에 그대로 전달)
+     * @param folded  요약이 덮는 세션 앞쪽 메시지 수 (요약이 없거나 모르면 0)
+     * @param stale   이 인스턴스에서 저장에 실패해 히스토리가 DB 보다 뒤처졌을 수 있는지 여부
+     */
+    public record Snapshot(ChatContext context, long version, long folded, boolean stale) {
+    }
+
+    /**
+     * 세션의 요약과 최근 대화 컨텍스트를 조회합니다.
+     * @param sessionId 대화 세션 ID
+     * @return 요약(없으면 null)과 오래된 순서의 메시지 목록 (최대 max-messages 개, 키가 없으면 빈 목록).
+     *         Redis 를 쓸 수 없거나 stale 표시된 세션이면 Optional.empty()
+     */
+    public Optional<ChatContext> load(Long sessionId) {
+        return read(sessionId)
+                .filter(snapshot -> !snapshot.stale())
+                .map(Snapshot::context);
+    }
+
+    /**
+     * 세션 컨텍스트를 DB 복구용 메타 정보와 함께 조회합니다. stale 표시된 세션도 요약과 ver 를 얻기 위해 읽습니다.
+     * @param sessionId 대화 세션 ID
+     * @return Redis 에서 읽은 스냅샷. Redis 를 쓸 수 없으면 Optional.empty()
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Snapshot> read(Long sessionId) {
+        boolean stale = staleSessions.getIfPresent(sessionId) != null;
+        try {
+            List<String> result = circuitBreaker.executeSupplier(
+                    () -> (List<String>) redisTemplate.execute(READ_SCRIPT, keys(sessionId)));
+            if (result == null || result.size() < 3) {
+                return Optional.of(new Snapshot(ChatContext.EMPTY, 0L, 0L, stale));
+            }
+            String summary = result.get(0).isEmpty() ? null : result.get(0);
+            long version = Long.parseLong(result.get(1));
+            // 요약이 (만료 등으로) 없으면 접힌 구간도 DB 에서 다시 읽어야 함
+            long folded = summary == null || result.get(2).isEmpty() ? 0L : Long.parseLong(result.get(2));
+            ChatContext context = new ChatContext(summary, decode(result.subList(3, result.size())));
+            return Optional.of(new Snapshot(context, version, folded, stale));
+        } catch (Exception e) {
+            log.warn("Redis 컨텍스트 조회 실패 - DB 에서 복구: sessionId={}, {}", sessionId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 한 턴(사용자 메시지 + AI 답변)을 붙이고, 최근 max-messages 개만 남긴 뒤 TTL 을 갱신합니다.
+     * 실패해도 대화 자체는 이미 DB 에 저장되어 있으므로 stale 표시만 남기고, 다음 조회 때 DB 에서 복구합니다.
+     * @param sessionId   대화 세션 ID
+     * @param userContent 사용자 메시지
+     * @param aiContent   AI 답변
+     */
+    public void append(Long sessionId, String userContent, String aiContent) {
+        try {
+            circuitBreaker.executeSupplier(() -> redisTemplate.execute(APPEND_SCRIPT, keys(sessionId),
+                    encode("user", userContent), encode("assistant", aiContent), maxMessages, ttlSeconds));
+        } catch (Exception e) {
+            staleSessions.put(sessionId, Boolean.TRUE);
+            log.warn("Redis 컨텍스트 저장 실패 - 다음 대화에서 DB 로 복구: sessionId={}, {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * DB 에서 다시 만든 컨텍스트로 Redis 키를 교체합니다. 요청 스레드를 붙잡지 않도록 비동기로 실행합니다.
+     * DB 를 읽기 전에 본 ver 가 그대로일 때만 교체하므로, 이 작업이 늦게 실행돼도 그 사이 붙은 턴이나 접힌 요약을 덮어쓰지 않습니다.
+     * 교체했거나 이미 더 새로운 내용이 있으면 stale 표시를 지웁니다. 실패하면 다음 조회도 DB 에서 읽습니다.
+     * @param sessionId    대화 세션 ID
+     * @param version      DB 를 읽기 전에 {@link #read} 로 본 ver
+     * @param messageCount DB 를 읽은 시점의 세션 전체 메시지 수 (= 마지막 원소의 서수)
+     * @param history      요약 이후 구간의 오래된 순서 메시지 목록
+     */
+    @Async
+    public void repopulate(Long sessionId, long version, long messageCount, List<OpenAiRequest.Message> history) {
+        List<String> args = new ArrayList<>(history.size() + 3);
+        args.add(String.valueOf(version));
+        args.add(String.valueOf(messageCount));
+        args.add(ttlSeconds);
+        for (OpenAiRequest.Message message : history) {
+            args.add(encode(message.role(), message.content()));
+        }
+
+        try {
+            Long replaced = circuitBreaker.executeSupplier(() -> redisTemplate.execute(REPLACE_SCRIPT,
+                    List.of(KEY_PREFIX + sessionId, META_KEY_PREFIX + sessionId), args.toArray()));
+            staleSessions.invalidate(sessionId);
+            if (replaced != null && replaced < 0) {
+                log.debug("Redis 컨텍스트 복구 생략 - 그 사이 변경됨: sessionId={}", sessionId);
+            }
+        } catch (Exception e) {
+            log.warn("Redis 컨텍스트 복구 실패: sessionId={}, {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 히스토리 앞쪽 count 개를 지우고 요약을 새 요약으로 교체합니다.
+     * 그 사이 다른 인스턴스가 먼저 접었거나 키가 다시 채워졌으면(첫 원소가 다르면) 아무것도 바꾸지 않습니다.
+     * @param sessionId 대화 세션 ID
+     * @param head      접을 구간의 첫 메시지
+     * @param count     접을 메시지 수
+     * @param summary   접을 구간까지 포함한 새 요약
+     * @return 교체 여부
+     */
+    public boolean fold(Long sessionId, OpenAiRequest.Message head, int count, String summary) {
+        try {
+            Long folded = circuitBreaker.executeSupplier(() -> redisTemplate.execute(FOLD_SCRIPT, keys(sessionId),
+                    encode(head.role(), head.content()), String.valueOf(count), summary, ttlSeconds));
+            return folded != null && folded == 1L;
+        } catch (Exception e) {
+            log.warn("Redis 컨텍스트 요약 저장 실패: sessionId={}, {}", sessionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Redis 호출이 현재 차단된 상태(서킷 OPEN)인지 확인합니다.
+     */
+    public boolean isUnavailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private static List<String> keys(Long sessionId) {
+        return List.of(KEY_PREFIX + sessionId, SUMMARY_KEY_PREFIX + sessionId, META_KEY_PREFIX + sessionId);
+    }
+
+    /**
+     * 메시지 한 건을 Redis 리스트 원소로 변환합니다.
+     * @param role    "user" 또는 "assistant"
+     * @param content 메시지 내용
+     * @return 역할 접두어가 붙은 문자열
+     */
+    static String encode(String role, String content) {
+        return switch (role) {
+            case "user" -> USER_PREFIX + content;
+            case "assistant" -> ASSISTANT_PREFIX + content;
+            default -> throw new IllegalArgumentException("컨텍스트에 저장할 수 없는 role: " + role);
+        };
+    }
+
+    /**
+     * Redis 리스트 원소들을 메시지 객체로 변환합니다. 변환할 수 없는 항목은 건너뜁니다.
+     * @param entries Redis 리스트 원소
+     * @return 메시지 목록
+     */
+    List<OpenAiRequest.Message> decode(List<String> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<OpenAiRequest.Message> history = new ArrayList<>(entries.size());
+        for (String entry : entries) {
+            if (entry.startsWith(USER_PREFIX)) {
+                history.add(new OpenAiRequest.Message("user", entry.substring(USER_PREFIX.length())));
+            } else if (entry.startsWith(ASSISTANT_PREFIX)) {
+                history.add(new OpenAiRequest.Message("assistant", entry.substring(ASSISTANT_PREFIX.length())));
+            } else {
+                decodeLegacy(entry, history);
+            }
+        }
+        return history;
+    }
+
+    // 이전 버전에서 저장한 {"role":..,"content":..} JSON 원소
+    private void decodeLegacy(String json, List<OpenAiRequest.Message> history) {
+        try {
+            history.add(objectMapper.readValue(json, OpenAiRequest.Message.class));
+        } catch (Exception e) {
+            log.error("Redis 메시지 파싱 에러 : {}", e.getMessage());
+        }
+    }
+}
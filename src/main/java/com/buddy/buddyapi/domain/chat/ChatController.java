@@ -2,38 +2,67 @@ package com.buddy.buddyapi.domain.chat;
 
 import com.buddy.buddyapi.domain.chat.dto.ChatHistoryResponse;
 import com.buddy.buddyapi.domain.chat.dto.ChatSendResponse;
+import com.buddy.buddyapi.domain.chat.dto.ChatTurnContext;
 import com.buddy.buddyapi.global.common.ApiResponse;
+import com.buddy.buddyapi.global.idempotency.IdempotencyService;
 import com.buddy.buddyapi.domain.chat.dto.SendChatRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Chat", description = "채팅 API")
 @RestController
 @RequestMapping("/api/v1/chats")
 @RequiredArgsConstructor
 public class ChatController {
+    private static final long STREAM_TIMEOUT_MILLIS = 3 * 60 * 1000L;
+
     private final ChatService chatService;
+    private final ChatReplyService chatReplyService;
+    private final IdempotencyService idempotencyService;
 
-    @Operation(summary = "메시지 전송", description = "사용자가 메시지를 보내고 AI의 답변을 받습니다.")
+    @Operation(summary = "메시지 전송",
+            description = "사용자가 메시지를 보내고 AI의 답변을 받습니다. 재시도 시 같은 Idempotency-Key 를 보내면 처음 응답을 그대로 받습니다.")
     @PostMapping
     public ResponseEntity<ApiResponse<ChatSendResponse>> sendMessage(
+            @AuthenticationPrincipal Long memberId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody SendChatRequest request) {
+        ChatSendResponse response = idempotencyService.execute(memberId, "chat", idempotencyKey, request,
+                ChatSendResponse.class, () -> chatReplyService.reply(memberId, request));
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+
+    @Operation(summary = "메시지 전송 (스트리밍)",
+            description = "AI 답변을 SSE로 토큰 단위 전송합니다. 이벤트: token → done(ChatSendResponse), 실패 시 error")
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(
             @AuthenticationPrincipal Long memberId,
             @Valid @RequestBody SendChatRequest request) {
-        return ResponseEntity.ok(ApiResponse.ok(chatService.sendMessage(memberId, request)));
+        // 세션 검증/락 획득/사용자 메시지 저장은 동기로 처리해서 실패 시 일반 JSON 에러 응답을 받도록 함
+        ChatTurnContext context = chatReplyService.openTurn(memberId, request);
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        chatReplyService.streamReply(context, emitter);
+        return emitter;
     }
 
-    @Operation(summary = "대화 내역 조회", description = "특정 세션의 모든 대화 내역을 조회합니다.")
+    @Operation(summary = "대화 내역 조회",
+            description = "특정 세션의 대화 내역을 최신순으로 size 개씩 조회합니다. 다음(과거) 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
     @GetMapping(value = "/{sessionId}")
     public ResponseEntity<ApiResponse<ChatHistoryResponse>> getChatHistory(
             @AuthenticationPrincipal Long memberId,
-            @PathVariable("sessionId") Long sessionId
+            @PathVariable("sessionId") Long sessionId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "30") int size
     ) {
-        return ResponseEntity.ok(ApiResponse.ok(chatService.getChatHistory(memberId,sessionId)));
+        return ResponseEntity.ok(ApiResponse.ok(chatService.getChatHistory(memberId, sessionId, cursor, size)));
     }
 
     @Operation(summary = "대화 세션 종료", description = "대화를 종료하고 해당 세션을 일기 생성 가능 상태로 변경합니다.")
@@ -1,13 +1,18 @@
 package com.buddy.buddyapi.domain.chat;
 
+import com.buddy.buddyapi.domain.chat.dto.ChatContextRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    // 특정 세션의 모든 메시지를 과거 -> 최신순으로 정렬하여 조회
-    // (AI에게 문맥을 전달하거나 채팅방에 진입할 때 사용)
-    List<ChatMessage> findAllByChatSessionOrderByCreatedAtDesc(ChatSession chatSession);
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>, ChatMessageRepositoryCustom {
 
     // 2. 특정 세션의 메시지 개수 확인 (세션의 활성화 정도 파악용)
 //    long countByChatSession(ChatSession chatSession);
@@ -15,5 +20,24 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     // 3. (옵션) 특정 세션의 가장 마지막 메시지 하나만 조회
 //    Optional<ChatMessage> findFirstByChatSessionOrderByCreatedAtDesc(ChatSession chatSession);
 
-    List<ChatMessage>  findAllByChatSessionOrderByCreatedAtAsc(ChatSession chatSession);
+    // 일기 생성용: 세션의 전체 대화를 과거 -> 최신순으로 역할/내용만 스트리밍 (엔티티 로딩 없음)
+    // fetch size 단위로 읽어 긴 세션도 한 번에 메모리에 올리지 않음. 트랜잭션 안에서 소비하고 닫아야 함
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select new com.buddy.buddyapi.domain.chat.dto.ChatContextRow(m.role, m.content) " +
+            "from ChatMessage m " +
+            "where m.chatSession.sessionId = :sessionId " +
+            "order by m.createdAt asc, m.messageId asc")
+    Stream<ChatContextRow> streamTranscript(@Param("sessionId") Long sessionId);
+
+    // Redis 컨텍스트 복구용: 세션의 최근 메시지 N건 (최신순)
+    // IX_chat_message_session(session_id, created_at) 를 역순으로 읽고 limit 에서 멈춤
+    @Query("select new com.buddy.buddyapi.domain.chat.dto.ChatContextRow(m.role, m.content) " +
+            "from ChatMessage m " +
+            "where m.chatSession.sessionId = :sessionId " +
+            "order by m.createdAt desc, m.messageId desc")
+    List<ChatContextRow> findRecentContext(@Param("sessionId") Long sessionId, Limit limit);
+
+    // Redis 컨텍스트 복구용: 세션의 전체 메시지 수 (요약에 이미 접힌 구간을 건너뛰는 기준)
+    @Query("select count(m) from ChatMessage m where m.chatSession.sessionId = :sessionId")
+    long countBySessionId(@Param("sessionId") Long sessionId);
 }
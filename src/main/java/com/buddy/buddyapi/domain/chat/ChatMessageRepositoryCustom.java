@@ -0,0 +1,10 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.chat.dto.ChatHistoryCursor;
+import com.buddy.buddyapi.domain.chat.dto.ChatMessageResponse;
+import org.springframework.data.domain.Slice;
+
+public interface ChatMessageRepositoryCustom {
+    // 대화 내역 키셋 페이지 조회 (최신순)
+    Slice<ChatMessageResponse> findHistoryPage(Long sessionId, ChatHistoryCursor cursor, int size);
+}
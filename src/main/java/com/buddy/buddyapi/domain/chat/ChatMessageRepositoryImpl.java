@@ -0,0 +1,67 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.chat.dto.ChatHistoryCursor;
+import com.buddy.buddyapi.domain.chat.dto.ChatMessageResponse;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static com.buddy.buddyapi.domain.chat.QChatMessage.chatMessage;
+
+@RequiredArgsConstructor
+public class ChatMessageRepositoryImpl implements ChatMessageRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 대화 내역 무한 스크롤 (키셋 페이지네이션)
+     * offset 대신 마지막으로 받은 (created_at, message_id) 보다 과거인 메시지만 조회하므로
+     * 세션이 길어져도 IX_chat_message_session 인덱스를 역순으로 size + 1 건만 읽는다.
+     * 엔티티 대신 응답 DTO 로 바로 프로젝션 (세션/영속성 컨텍스트 로딩 없음)
+     */
+    @Override
+    public Slice<ChatMessageResponse> findHistoryPage(Long sessionId, ChatHistoryCursor cursor, int size) {
+        List<ChatMessageResponse> content = queryFactory
+                .select(Projections.constructor(ChatMessageResponse.class,
+                        chatMessage.messageId,
+                        chatMessage.role,
+                        chatMessage.content,
+                        chatMessage.createdAt
+                ))
+                .from(chatMessage)
+                .where(
+                        chatMessage.chatSession.sessionId.eq(sessionId),
+                        before(cursor)
+                )
+                .orderBy(chatMessage.createdAt.desc(), chatMessage.messageId.desc())
+                .limit(size + 1) // 다음 페이지 유무 확인용 1개 더
+                .fetch();
+
+        boolean hasNext = false;
+        if (content.size() > size) {
+            content.remove(size);
+            hasNext = true;
+        }
+
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
+    /**
+     * 커서 이전(더 과거) 메시지 조건. 첫 페이지(cursor == null)면 조건 없음.
+     * created_at 이 같은 메시지는 message_id 로 순서를 정한다.
+     */
+    private BooleanExpression before(ChatHistoryCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return chatMessage.createdAt.lt(cursor.createdAt())
+                .or(chatMessage.createdAt.eq(cursor.createdAt())
+                        .and(chatMessage.messageId.lt(cursor.messageId())));
+    }
+}
@@ -0,0 +1,91 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.AiPrompt;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.character.BuddyCharacterService;
+import com.buddy.buddyapi.domain.member.MemberService;
+import com.buddy.buddyapi.domain.member.event.MemberPersonaChangedEvent;
+import com.buddy.buddyapi.domain.member.event.MemberWithdrawEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * 채팅 턴마다 회원/캐릭터를 조회하고 시스템 프롬프트를 다시 만들지 않도록 하는 페르소나 캐시.
+ * <ul>
+ *     <li>회원 ID → 캐릭터 별명 (MemberService 의 온보딩/캐릭터 변경/별명 변경/탈퇴 커밋 후 무효화)</li>
+ *     <li>(캐릭터 ID, 캐릭터 별명, 프롬프트 버전) → 완성된 시스템 메시지 (불변 객체, 같은 페르소나면 모든 회원이 공유)</li>
+ *     <li>hit/miss 는 cache.gets{cache=chat.persona.*} 메트릭으로 노출</li>
+ * </ul>
+ * 무효화는 이 노드에만 적용되므로, 다른 노드는 최대 ttl 동안 이전 별명을 쓸 수 있다.
+ */
+@Component
+public class ChatPersonaCache {
+
+    private final MemberService memberService;
+    private final BuddyCharacterService characterService;
+    private final Cache<Long, String> characterNicknames;
+    private final Cache<PersonaKey, OpenAiRequest.Message> systemMessages;
+
+    public ChatPersonaCache(
+            MemberService memberService,
+            BuddyCharacterService characterService,
+            MeterRegistry meterRegistry,
+            @Value("${chat.persona-cache.ttl:10m}") Duration ttl,
+            @Value("${chat.persona-cache.max-size:10000}") long maxSize) {
+        this.memberService = memberService;
+        this.characterService = characterService;
+        this.characterNicknames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.systemMessages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, characterNicknames, "chat.persona.nickname");
+        CaffeineCacheMetrics.monitor(meterRegistry, systemMessages, "chat.persona.system");
+    }
+
+    /**
+     * 세션 캐릭터와 회원의 캐릭터 별명으로 완성된 시스템 메시지를 반환합니다.
+     * @param memberId    회원 ID
+     * @param characterId 세션에 설정된 캐릭터 ID
+     * @return 시스템 메시지 (매번 같은 인스턴스, 수정 금지)
+     */
+    public OpenAiRequest.Message systemMessage(Long memberId, Long characterId) {
+        String characterNickname = characterNicknames.get(memberId,
+                id -> memberService.getMemberById(id).getCharacterNickname());
+
+        PersonaKey key = new PersonaKey(characterId, characterNickname, AiPrompt.CHAT_SYSTEM_PROMPT_VERSION);
+        return systemMessages.get(key, this::render);
+    }
+
+    private OpenAiRequest.Message render(PersonaKey key) {
+        String personality = characterService.getCharacter(key.characterId()).getPersonality();
+        return new OpenAiRequest.Message("system",
+                String.format(AiPrompt.CHAT_SYSTEM_PROMPT, personality, key.characterNickname()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPersonaChanged(MemberPersonaChangedEvent event) {
+        characterNicknames.invalidate(event.memberId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onWithdraw(MemberWithdrawEvent event) {
+        characterNicknames.invalidate(event.memberId());
+    }
+
+    private record PersonaKey(Long characterId, String characterNickname, int promptVersion) {}
+}
@@ -0,0 +1,233 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.AiService;
+import com.buddy.buddyapi.domain.chat.dto.ChatSendResponse;
+import com.buddy.buddyapi.domain.chat.dto.ChatStreamTokenResponse;
+import com.buddy.buddyapi.domain.chat.dto.ChatTurnContext;
+import com.buddy.buddyapi.domain.chat.dto.SendChatRequest;
+import com.buddy.buddyapi.global.aspect.Timer;
+import com.buddy.buddyapi.global.common.ApiResponse;
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * AI 답변 생성처럼 오래 걸리는 외부 호출을 트랜잭션 밖에서 처리하는 서비스.
+ * DB 저장은 {@link ChatService}의 짧은 트랜잭션 메서드에 위임하므로, OpenAI 응답을 기다리는 동안
+ * DB 커넥션을 잡고 있지 않습니다.
+ * <p>
+ * 한 턴의 단계: open(사용자 메시지 저장) → ai(트랜잭션 없음) → complete(답변 저장), 실패 시 abandon(보상).
+ * 같은 세션의 턴은 {@link ChatTurnLock} 으로 한 번에 하나만 진행되며, 두 번째 요청은 기다리지 않고 거절됩니다.
+ * 단계별 시간은 chat.turn.phase{phase} 로, 커넥션 점유 시간은 hikaricp.connections.usage 로 확인합니다.
+ * <p>
+ * 스트리밍은 OpenAI 스트림이 끝날 때까지 스레드 하나를 붙잡으므로, Boot 기본 applicationTaskExecutor
+ * (요약 접기 / 컨텍스트 복구와 공유) 대신 이 서비스가 소유한 전용 풀에서 실행합니다.
+ * 풀에는 대기 큐가 없어서 동시 스트림이 max-concurrent 를 넘으면 SSE 를 열기 전에 바로 거절합니다. (CHAT_STREAM_UNAVAILABLE)
+ */
+@Slf4j
+@Service
+public class ChatReplyService {
+
+    private final ChatService chatService;
+    private final AiService aiService;
+    private final ChatTurnLock chatTurnLock;
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor streamExecutor;
+
+    public ChatReplyService(
+            ChatService chatService,
+            AiService aiService,
+            ChatTurnLock chatTurnLock,
+            MeterRegistry meterRegistry,
+            @Value("${chat.stream.max-concurrent:32}") int maxConcurrent) {
+        this.chatService = chatService;
+        this.aiService = aiService;
+        this.chatTurnLock = chatTurnLock;
+        this.meterRegistry = meterRegistry;
+
+        // 스트림 하나 = 스레드 하나. SynchronousQueue 라 대기열 없이 꽉 차면 AbortPolicy → 거절
+        this.streamExecutor = new ThreadPoolExecutor(0, maxConcurrent, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                Thread.ofPlatform().name("chat-stream-", 0).daemon(true).factory());
+        // executor.active / executor.pool.size {name=chat.stream}
+        new ExecutorServiceMetrics(streamExecutor, "chat.stream", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * 세션 대화 턴 락을 잡고 사용자 메시지를 저장합니다. 저장에 실패하면 락을 바로 반납합니다.
+     * 반환된 턴은 reply / streamReply 가 끝날 때 락을 반납합니다.
+     * @param memberId 현재 로그인한 회원 정보
+     * @param request  전송할 메시지 내용 및 세션 ID가 담긴 DTO
+     * @return 사용자 메시지 저장이 끝난 대화 턴 정보
+     * @throws BaseException 같은 세션의 이전 턴이 아직 진행 중인 경우 (CHAT_TURN_IN_PROGRESS)
+     */
+    public ChatTurnContext openTurn(Long memberId, SendChatRequest request) {
+        ChatTurnLock.Lease lease = chatTurnLock.acquire(request.sessionId());
+        try {
+            return phase("open", () -> chatService.openTurn(memberId, request, lease));
+        } catch (RuntimeException e) {
+            chatTurnLock.release(lease);
+            throw e;
+        }
+    }
+
+    /**
+     * 버디(AI 캐릭터)에게 메시지를 전송하고 응답을 받습니다.
+     * AI 호출이나 답변 저장에 실패하면 이번 턴에 저장한 사용자 메시지(와 새로 만든 세션)를 되돌립니다.
+     * @param memberId 현재 로그인한 회원 정보
+     * @param request  전송할 메시지 내용 및 세션 ID가 담긴 DTO
+     * @return AI의 응답 메시지와 세션 ID를 포함한 응답 DTO
+     */
+    @Timer
+    public ChatSendResponse reply(Long memberId, SendChatRequest request) {
+        ChatTurnContext context = openTurn(memberId, request);
+
+        try {
+            String aiContent = phase("ai", () -> aiService.getChatResponse(memberId, context.messages()));
+
+            ensureLeaseHeld(context);
+            return phase("complete",
+                    () -> chatService.completeTurn(context, aiContent));
+        } catch (RuntimeException e) {
+            abandon(context);
+            throw e;
+        } finally {
+            chatTurnLock.release(context.lease());
+        }
+    }
+
+    /**
+     * OpenAI 스트리밍 응답을 받아 토큰 단위로 SSE 이벤트를 전송하고, 스트림이 끝나면 답변을 저장합니다.
+     * 요청 스레드는 SseEmitter를 반환하는 즉시 풀려나고, 스트리밍은 스트리밍 전용 풀에서 진행됩니다.
+     * <p>
+     * 이벤트 순서: token(여러 번) → done(ChatSendResponse) / 실패 시 error(ApiResponse)
+     *
+     * @param context 사용자 메시지 저장이 끝난 대화 턴 정보 ({@link #openTurn} 결과)
+     * @param emitter 클라이언트와 연결된 SSE emitter
+     * @throws BaseException 동시 스트림 수가 상한에 도달한 경우 (CHAT_STREAM_UNAVAILABLE). 이번 턴은 되돌리고 락을 반납합니다.
+     */
+    public void streamReply(ChatTurnContext context, SseEmitter emitter) {
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    streamAndSave(context, emitter);
+                } finally {
+                    chatTurnLock.release(context.lease());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            abandon(context);
+            chatTurnLock.release(context.lease());
+            meterRegistry.counter("chat.stream.rejected").increment();
+            log.warn("스트리밍 풀 포화 - 거절: sessionId={}, active={}", context.sessionId(), streamExecutor.getActiveCount());
+            throw new BaseException(ResultCode.CHAT_STREAM_UNAVAILABLE);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        streamExecutor.shutdown();
+        if (!streamExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            streamExecutor.shutdownNow();
+        }
+    }
+
+    private void streamAndSave(ChatTurnContext context, SseEmitter emitter) {
+        // 클라이언트가 중간에 끊어도 OpenAI 비용은 이미 발생하므로 답변은 끝까지 받아 저장한다.
+        AtomicBoolean clientConnected = new AtomicBoolean(true);
+
+        ChatSendResponse response;
+        try {
+            String aiContent = phase("ai", () -> aiService.streamChatResponse(context.memberId(), context.messages(), token -> {
+                if (clientConnected.get()) {
+                    clientConnected.set(send(emitter, "token", new ChatStreamTokenResponse(token)));
+                }
+            }));
+
+            ensureLeaseHeld(context);
+            response = phase("complete", () -> chatService.completeTurn(context, aiContent));
+        } catch (BaseException e) {
+            abandon(context);
+            log.warn("스트리밍 답변 실패 [{}] sessionId={}", e.getResultCode().getCode(), context.sessionId());
+            ApiResponse<Void> body = ApiResponse.fail(e.getResultCode(), e.getResponseMessage());
+            send(emitter, "error", body);
+            emitter.complete();
+            return;
+        } catch (Exception e) {
+            abandon(context);
+            log.error("스트리밍 답변 중 예기치 못한 오류 sessionId={}: {}", context.sessionId(), e.getMessage());
+            send(emitter, "error", ApiResponse.fail(ResultCode.INTERNAL_SERVER_ERROR));
+            emitter.complete();
+            return;
+        }
+
+        if (clientConnected.get()) {
+            send(emitter, "done", response);
+        }
+        emitter.complete();
+    }
+
+    /**
+     * 답변을 저장하지 못한 턴을 되돌립니다. 보상 실패는 원래 예외를 가리지 않도록 로그만 남깁니다.
+     * @param context 1단계에서 만든 대화 턴 정보
+     */
+    private void abandon(ChatTurnContext context) {
+        try {
+            phase("abandon", () -> {
+                chatService.abandonTurn(context);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("대화 턴 보상 실패 - 사용자 메시지가 남아 있을 수 있음 sessionId={}, messageId={}: {}",
+                    context.sessionId(), context.userMessageId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 답변 저장 직전 펜싱. AI 응답을 기다리는 동안 리스가 만료되어 같은 세션의 다른 턴이 시작됐다면
+     * 컨텍스트 순서가 꼬이지 않도록 이번 턴은 저장하지 않고 되돌립니다.
+     */
+    private void ensureLeaseHeld(ChatTurnContext context) {
+        if (!chatTurnLock.isHeld(context.lease())) {
+            log.warn("대화 턴 리스 만료 - 답변 저장 취소 sessionId={}", context.sessionId());
+            throw new BaseException(ResultCode.CHAT_TURN_IN_PROGRESS);
+        }
+    }
+
+    /**
+     * 대화 턴의 한 단계를 실행하고 chat.turn.phase 타이머에 기록합니다.
+     */
+    private <T> T phase(String name, Supplier<T> action) {
+        return meterRegistry.timer("chat.turn.phase", "phase", name).record(action);
+    }
+
+    /**
+     * SSE 이벤트 하나를 JSON으로 전송합니다.
+     * @return 전송 성공 여부 (클라이언트 연결이 끊겼으면 false)
+     */
+    private boolean send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (Exception e) {
+            log.debug("SSE 전송 실패 - 클라이언트 연결 종료로 판단: {}", e.getMessage());
+            return false;
+        }
+    }
+}
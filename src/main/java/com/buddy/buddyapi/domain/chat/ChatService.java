@@ -5,24 +5,28 @@ import com.buddy.buddyapi.domain.chat.dto.SendChatRequest;
 import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
 import com.buddy.buddyapi.domain.chat.dto.ChatMessageResponse;
 import com.buddy.buddyapi.domain.character.BuddyCharacter;
+import com.buddy.buddyapi.domain.chat.dto.ChatContext;
+import com.buddy.buddyapi.domain.chat.dto.ChatContextRow;
+import com.buddy.buddyapi.domain.chat.dto.ChatHistoryCursor;
 import com.buddy.buddyapi.domain.chat.dto.ChatSendResponse;
+import com.buddy.buddyapi.domain.chat.dto.ChatTurnContext;
 import com.buddy.buddyapi.domain.member.Member;
 import com.buddy.buddyapi.domain.member.MemberService;
-import com.buddy.buddyapi.global.aspect.Timer;
 import com.buddy.buddyapi.global.exception.BaseException;
 import com.buddy.buddyapi.global.exception.ResultCode;
 import com.buddy.buddyapi.domain.ai.AiPrompt;
-import com.buddy.buddyapi.domain.ai.AiService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.buddy.buddyapi.domain.ai.TokenCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,16 +34,16 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ChatService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final ChatSessionRepository chatSessionRepository;
     private final ChatMessageRepository chatMessageRepository;
 
     private final MemberService memberService;
-    private final AiService aiService;
-
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
 
-    private final String CHAT_KEY_PREFIX = "chat:history:";
+    private final ChatContextManager chatContextManager;
+    private final ChatPersonaCache chatPersonaCache;
+    private final TokenCounter tokenCounter;
 
     /**
      * sessionId, memberId를 통해 해당 맴버의 해당 챗세션을 가져옴
@@ -51,131 +55,151 @@ public class ChatService {
     }
 
     /**
-     * 버디(AI 캐릭터)에게 메시지를 전송하고 응답을 받습니다.
-     * @param memberId  현재 로그인한 회원 정보
-     * @param request 전송할 메시지 내용 및 세션 ID가 담긴 DTO
-     * @return AI의 응답 메시지와 세션 ID를 포함한 응답 DTO
+     * [1단계] 사용자 메시지를 저장하고 AI 호출에 필요한 메시지 목록을 조립합니다.
+     * AI 호출은 트랜잭션 밖에서 진행되므로 이 메서드가 끝나면 DB 커넥션이 반납됩니다.
+     * @param memberId 현재 로그인한 회원 정보
+     * @param request  전송할 메시지 내용 및 세션 ID가 담긴 DTO
+     * @param lease    미리 획득한 세션 대화 턴 락
+     * @return 세션 ID와 조립된 메시지 목록
      */
-    @Timer
     @Transactional
-    public ChatSendResponse sendMessage(Long memberId, SendChatRequest request) {
-
+    public ChatTurnContext openTurn(Long memberId, SendChatRequest request, ChatTurnLock.Lease lease) {
         // 세션 조회 또는 생성 (세션 ID가 없거나 종료된 세션이면 새로 생성)
         ChatSession session = getOrCreateSession(memberId, request.sessionId());
+        boolean newSession = !session.getSessionId().equals(request.sessionId());
 
-        // 사용자 메시지 저장
-        saveMessage(session, SenderRole.USER, request.content());
+        // 컨텍스트를 DB 에서 복구해야 할 수도 있으므로 이번 사용자 메시지를 저장하기 전에 조립
+        List<OpenAiRequest.Message> messages = buildPromptMessages(session, newSession, request.content());
 
-        // AI 답변 생성
-        String aiContent = generateAiResponse(session, request.content());
+        ChatMessage userMessage = saveMessage(session, SenderRole.USER, request.content());
+
+        return new ChatTurnContext(memberId, session.getSessionId(), userMessage.getMessageId(), newSession,
+                request.content(), messages, lease);
+    }
+
+    /**
+     * [2단계] AI 답변을 DB와 Redis 컨텍스트에 저장합니다.
+     * @param context   1단계에서 만든 대화 턴 정보
+     * @param aiContent 받은 전체 AI 답변
+     * @return AI의 응답 메시지와 세션 ID를 포함한 응답 DTO
+     */
+    @Transactional
+    public ChatSendResponse completeTurn(ChatTurnContext context, String aiContent) {
+        Long sessionId = context.sessionId();
+        ChatSession session = chatSessionRepository.getReferenceById(sessionId);
 
-        // AI 메시지 저장(DB)
         ChatMessage aiMessage = saveMessage(session, SenderRole.ASSISTANT, aiContent);
 
-        // Redis에 대화내용 저장
-        saveContextToRedis(session.getSessionId(), request.content(), aiContent);
+        chatContextManager.append(context.memberId(), sessionId, context.userContent(), aiContent);
 
-        return ChatSendResponse.of(session.getSessionId(), ChatMessageResponse.from(aiMessage));
+        return ChatSendResponse.of(sessionId, ChatMessageResponse.from(aiMessage));
+    }
 
+    /**
+     * [보상] AI 답변을 받지 못한 턴을 되돌립니다.
+     * 1단계에서 저장한 사용자 메시지를 지우고, 이번 턴에서 새로 만든 세션이면 세션도 함께 지웁니다.
+     * (Redis 컨텍스트는 2단계에서만 쓰므로 정리할 것이 없음)
+     * @param context 1단계에서 만든 대화 턴 정보
+     */
+    @Transactional
+    public void abandonTurn(ChatTurnContext context) {
+        chatMessageRepository.deleteById(context.userMessageId());
+
+        if (context.newSession()) {
+            chatSessionRepository.deleteById(context.sessionId());
+        }
     }
 
     /**
-     * 특정 세션의 대화 내용을 외부 서비스(예: DiaryService)에서 사용할 수 있도록
-     * 문자열 형태로 포맷팅하여 제공합니다.
-     * @return "USER: 내용 \n ASSISTANT: 내용" 형태의 문자열
+     * 특정 세션의 대화 내용을 외부 서비스(예: 일기 초안 생성)에서 사용할 수 있도록
+     * 토큰 상한 이내의 구간 문자열로 나누어 제공합니다.
+     * DB 에서 메시지를 스트리밍으로 읽으면서 바로 구간을 채우므로 전체 대화를 한 번에 메모리에 올리지 않습니다.
+     * @param maxSegmentTokens 구간 하나의 토큰 상한
+     * @return 시간순 구간 목록, 각 구간은 "USER: 내용 \n ASSISTANT: 내용" 형태의 문자열
      */
-    public String formatChatHistory(Long sessionId, Long memberId) {
+    public List<String> segmentChatHistory(Long sessionId, Long memberId, int maxSegmentTokens) {
         // 세션 조회 (내 세션인지, 종료된 세션인지 확인)
         ChatSession session = chatSessionRepository.findBySessionIdAndMember_MemberId(sessionId, memberId)
                 .orElseThrow(() -> new BaseException(ResultCode.SESSION_NOT_FOUND));
 
-        // 해당 세션의 모든 메시지 시간순 조회
+        // 해당 세션의 모든 메시지 시간순 스트리밍 (역할/내용만 프로젝션)
         // USER + ASSISTANT 내용 전부 포함. 단, ASSISTANT는 대화의 맥락을 파악하는 용도로 사용하도록 한다.
-        List<ChatMessage> messages = chatMessageRepository.findAllByChatSessionOrderByCreatedAtAsc(session);
+        List<String> segments;
+        try (Stream<ChatContextRow> messages = chatMessageRepository.streamTranscript(session.getSessionId())) {
+            segments = segmentTranscript(messages, tokenCounter, maxSegmentTokens);
+        }
 
-        if (messages.isEmpty()) {
+        if (segments.isEmpty()) {
             throw new BaseException(ResultCode.EMPTY_CHAT_HISTORY); // 대화가 없으면 일기 생성 불가
         }
-
-        // AI에게 전달할 대화 텍스트 포맷팅
-        // 예: "USER: 오늘 힘들어 / ASSISTANT: 무슨 일이야?
-        return messages.stream()
-                .map(m -> String.format("%s: %s", m.getRole(), m.getContent()))
-                .collect(Collectors.joining("\n"));
-    }
-
-    /**
-     * AI 서비스를 호출하여 캐릭터의 성격이 반영된 답변을 생성합니다.
-     * @param session     현재 대화 세션 (캐릭터 정보 포함)
-     * @param userContent 사용자가 입력한 메시지 내용
-     * @return AI가 생성한 답변 문자열
-     */
-    private String generateAiResponse(ChatSession session, String userContent) {
-        // OpenAI API 연동 지점
-        List<OpenAiRequest.Message> fullMessages = new ArrayList<>();
-
-        String characterName = session.getMember().getCharacterNickname();
-        String characterPersonality = session.getBuddyCharacter().getPersonality();
-
-
-        fullMessages.add(new OpenAiRequest.Message("system",
-                String.format(AiPrompt.CHAT_SYSTEM_PROMPT, characterPersonality,characterName)));
-
-        // Redis에서 과거 대화 가져오기
-        fullMessages.addAll(getContextFromRedis(session.getSessionId()));
-
-        // 현재 사용자의 질문 추가
-        fullMessages.add(new OpenAiRequest.Message("user", userContent));
-
-
-        return aiService.getChatResponse(fullMessages);
+        return segments;
     }
 
     /**
-     * Redis에서 저장된 JSON 대화 내역을 객체 리스트로 변환
-     * @param sessionId 현재 대화 세션
-     * @return Redis에서 저장된 JSON 대화 내역 ~10개
+     * 메시지를 "ROLE: 내용" 줄 단위로 이어 붙이되, 토큰 상한을 넘기 전에 다음 구간으로 넘깁니다.
+     * 메시지 하나가 상한보다 길면 그 메시지만으로 구간을 만듭니다. (메시지 중간은 자르지 않음)
+     * @param messages         시간순으로 정렬된 메시지
+     * @param tokenCounter     토큰 계산기
+     * @param maxSegmentTokens 구간 하나의 토큰 상한
+     * @return 시간순 구간 목록 (메시지가 없으면 빈 목록)
      */
-    private List<OpenAiRequest.Message> getContextFromRedis(Long sessionId) {
-        String key = CHAT_KEY_PREFIX + sessionId;
-        List<String> jsonHistory = redisTemplate.opsForList().range(key, 0, -1);
-        List<OpenAiRequest.Message> history = new ArrayList<>();
-
-        if(jsonHistory != null) {
-            for(String json : jsonHistory) {
-                try {
-                    history.add(objectMapper.readValue(json, OpenAiRequest.Message.class));
-                } catch (Exception e) {
-                    log.error("Redis 메시지 파싱 에러 : {}", e.getMessage());
-                }
+    static List<String> segmentTranscript(Stream<ChatContextRow> messages, TokenCounter tokenCounter, int maxSegmentTokens) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (Iterator<ChatContextRow> it = messages.iterator(); it.hasNext(); ) {
+            ChatContextRow message = it.next();
+            String line = message.role().name() + ": " + message.content();
+            int lineTokens = tokenCounter.count(line) + 1; // 줄바꿈
+
+            if (!current.isEmpty() && currentTokens + lineTokens > maxSegmentTokens) {
+                segments.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
             }
+            if (!current.isEmpty()) {
+                current.append('\n');
+            }
+            current.append(line);
+            currentTokens += lineTokens;
         }
 
-        return history;
+        if (!current.isEmpty()) {
+            segments.add(current.toString());
+        }
+        return segments;
     }
 
     /**
-     * 대화 내역을 JSON으로 변환하여 Redis에 저장하고, 관리(Trim/Expire)
-     * @param sessionId 현재 대화 세션
-     * @param userMessage 현재 유저 메시지
-     * @param aiMessage 응답 메시지
+     * 캐릭터 시스템 프롬프트 + 이전 대화 요약 + 과거 대화(토큰 예산 이내) + 현재 사용자 메시지 순으로 메시지 목록을 조립합니다.
+     * @param session     현재 대화 세션 (캐릭터 정보 포함)
+     * @param newSession  이번 턴에서 새로 만든 세션 여부 (과거 대화 조회 생략)
+     * @param userContent 사용자가 입력한 메시지 내용
+     * @return OpenAI에 전달할 전체 메시지 리스트
      */
-    private void saveContextToRedis(Long sessionId, String userMessage, String aiMessage) {
-        String key = CHAT_KEY_PREFIX + sessionId;
-
-        try{
-            String userJson = objectMapper.writeValueAsString(new OpenAiRequest.Message("user", userMessage));
-            String aiJson = objectMapper.writeValueAsString(new OpenAiRequest.Message("assistant", aiMessage));
+    private List<OpenAiRequest.Message> buildPromptMessages(ChatSession session, boolean newSession, String userContent) {
+        List<OpenAiRequest.Message> fullMessages = new ArrayList<>();
 
-            redisTemplate.opsForList().rightPush(key, userJson);
-            redisTemplate.opsForList().rightPush(key, aiJson);
+        // 캐릭터 페르소나 (캐시된 불변 메시지, 캐릭터는 프록시 ID 만 사용하므로 조회 없음)
+        // 시스템 프롬프트 → 요약 → 과거 대화 순으로 앞부분이 턴마다 같게 유지되어 OpenAI 프롬프트 캐싱에 적중
+        fullMessages.add(chatPersonaCache.systemMessage(
+                session.getMember().getMemberId(), session.getBuddyCharacter().getCharacterId()));
+
+        // 과거 대화 가져오기 (Redis, 없거나 장애면 DB)
+        if (!newSession) {
+            ChatContext context = chatContextManager.load(session.getSessionId());
+            if (context.summary() != null) {
+                fullMessages.add(new OpenAiRequest.Message("system",
+                        String.format(AiPrompt.CHAT_SUMMARY_CONTEXT_PROMPT, context.summary())));
+            }
+            fullMessages.addAll(context.history());
+        }
 
-            // 최신 10개(사용자5개, AI5개)만 유지
-            redisTemplate.opsForList().trim(key, -10,-1);
+        // 현재 사용자의 질문 추가
+        fullMessages.add(new OpenAiRequest.Message("user", userContent));
 
-        }catch (Exception e) {
-            log.warn("Redis 컨텍스트 저장 실패 - 다음 대화에서 컨텍스트 유실 가능: {}", e.getMessage());
-        }
+        return fullMessages;
     }
 
     /**
@@ -187,14 +211,16 @@ public class ChatService {
      */
     private ChatSession getOrCreateSession(Long memberId, Long sessionId) {
 
-        Member member = memberService.getMemberWithCharacter(memberId);
-
         if(sessionId != null) {
-            return chatSessionRepository.findBySessionIdAndMember_MemberId(sessionId, memberId)
-                    .filter(s -> !s.isEnded()) // 종료되지 않은 세션만 사용
-                    .orElseGet(() -> createNewSession(member));
+            Optional<ChatSession> active = chatSessionRepository.findBySessionIdAndMember_MemberId(sessionId, memberId)
+                    .filter(s -> !s.isEnded()); // 종료되지 않은 세션만 사용
+            if (active.isPresent()) {
+                return active.get();
+            }
         }
-        return createNewSession(member);
+
+        // 회원/캐릭터 조회는 새 세션을 만들 때만
+        return createNewSession(memberService.getMemberWithCharacter(memberId));
     }
 
 
@@ -239,25 +265,27 @@ public class ChatService {
 
 
     /**
-     * 특정 세션의 이전 대화 기록을 조회합니다.
+     * 특정 세션의 이전 대화 기록을 최신순으로 한 페이지씩 조회합니다.
      * * @param member    현재 로그인한 회원 정보
      * @param sessionId 조회할 세션의 고유 식별자
-     * @return 과거 메시지 내역 리스트 (최신순)
-     * @throws BaseException 해당 세션이 존재하지 않거나 본인 세션이 아닐 경우 발생
+     * @param cursor    이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size      페이지 크기
+     * @return 과거 메시지 내역 리스트 (최신순)와 다음 페이지 커서
+     * @throws BaseException 해당 세션이 존재하지 않거나 본인 세션이 아닐 경우, 커서 형식이 잘못된 경우 발생
      */
-    public ChatHistoryResponse getChatHistory(Long memberId, Long sessionId) {
+    public ChatHistoryResponse getChatHistory(Long memberId, Long sessionId, String cursor, int size) {
 
         // 내 세션인지 검증함께
         ChatSession session = chatSessionRepository.findBySessionIdAndMember_MemberId(sessionId, memberId)
                 .orElseThrow(() -> new BaseException(ResultCode.SESSION_NOT_FOUND));
 
-        // 메시지 목록을 과거순으로 조회하여 DTO로 변환
-        List<ChatMessageResponse> messages =  chatMessageRepository.findAllByChatSessionOrderByCreatedAtDesc(session)
-                .stream()
-                .map(ChatMessageResponse::from)
-                .toList();
+        // 커서 이전의 메시지를 size 개만 DTO로 바로 조회
+        int pageSize = Math.clamp(size, 1, MAX_HISTORY_PAGE_SIZE);
+        Slice<ChatMessageResponse> page = chatMessageRepository.findHistoryPage(
+                session.getSessionId(), ChatHistoryCursor.decode(cursor), pageSize);
 
-        return ChatHistoryResponse.of(session.getSessionId(), session.getBuddyCharacter().getCharacterId(), messages);
+        return ChatHistoryResponse.of(session.getSessionId(), session.getBuddyCharacter().getCharacterId(),
+                page.getContent(), page.hasNext());
     }
 
     /**
@@ -0,0 +1,139 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.domain.ai.AiService;
+import com.buddy.buddyapi.domain.ai.TokenCounter;
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.chat.dto.ChatContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 히스토리가 token-budget 을 넘으면 오래된 메시지를 롤링 요약(chat:summary:{sessionId})으로 접는다.
+ * 요청 경로 밖(@Async)에서 실행되며, 한 번 접을 때 fold-target-ratio 까지 줄여서 매 턴마다 요약 호출이 일어나지 않게 한다.
+ * 요약 호출이 실패하면 아무것도 지우지 않으므로, 다음 턴에서 다시 시도된다. (그동안은 조회 시 예산만큼만 사용)
+ */
+@Slf4j
+@Component
+public class ChatSummaryFolder {
+
+    private final ChatContextStore chatContextStore;
+    private final AiService aiService;
+    private final TokenCounter tokenCounter;
+    private final MeterRegistry meterRegistry;
+    private final int tokenBudget;
+    private final int foldTargetTokens;
+    private final Set<Long> folding = ConcurrentHashMap.newKeySet();
+
+    public ChatSummaryFolder(
+            ChatContextStore chatContextStore,
+            AiService aiService,
+            TokenCounter tokenCounter,
+            MeterRegistry meterRegistry,
+            @Value("${chat.context.token-budget:1200}") int tokenBudget,
+            @Value("${chat.context.fold-target-ratio:0.5}") double foldTargetRatio) {
+        this.chatContextStore = chatContextStore;
+        this.aiService = aiService;
+        this.tokenCounter = tokenCounter;
+        this.meterRegistry = meterRegistry;
+        this.tokenBudget = tokenBudget;
+        this.foldTargetTokens = (int) (tokenBudget * foldTargetRatio);
+    }
+
+    /**
+     * 세션 히스토리가 예산을 넘었으면 오래된 메시지를 요약으로 접습니다.
+     * 같은 세션에 대해 이미 접는 중이면 건너뜁니다.
+     * @param memberId  회원 ID (요약 호출 사용량 집계)
+     * @param sessionId 대화 세션 ID
+     */
+    @Async
+    public void foldIfNeeded(Long memberId, Long sessionId) {
+        if (!folding.add(sessionId)) {
+            return;
+        }
+        try {
+            fold(memberId, sessionId);
+        } catch (Exception e) {
+            count("error");
+            log.warn("대화 요약 실패 - 다음 턴에서 재시도: sessionId={}, {}", sessionId, e.getMessage());
+        } finally {
+            folding.remove(sessionId);
+        }
+    }
+
+    private void fold(Long memberId, Long sessionId) {
+        Optional<ChatContext> loaded = chatContextStore.load(sessionId);
+        if (loaded.isEmpty()) {
+            return;
+        }
+        List<OpenAiRequest.Message> history = loaded.get().history();
+
+        int[] tokens = new int[history.size()];
+        int total = 0;
+        for (int i = 0; i < history.size(); i++) {
+            tokens[i] = tokenCounter.count(history.get(i));
+            total += tokens[i];
+        }
+        if (total <= tokenBudget) {
+            return;
+        }
+
+        // 앞에서부터 턴 단위로 접어서 남은 토큰이 foldTargetTokens 이하가 될 때까지 (최근 한 턴은 유지)
+        // 턴 중간에서 자르면 남은 히스토리가 AI 답변으로 시작하므로 다음 사용자 메시지 직전까지 한 번에 접음
+        int lastTurnStart = lastUserIndex(history);
+        int foldCount = 0;
+        while (total > foldTargetTokens) {
+            int end = foldCount + 1;
+            while (end < history.size() && !"user".equals(history.get(end).role())) {
+                end++;
+            }
+            if (end > lastTurnStart) {
+                break;
+            }
+            for (int i = foldCount; i < end; i++) {
+                total -= tokens[i];
+            }
+            foldCount = end;
+        }
+        if (foldCount == 0) {
+            return;
+        }
+
+        List<OpenAiRequest.Message> folded = history.subList(0, foldCount);
+        String summary = aiService.summarizeChat(memberId, loaded.get().summary(), formatTranscript(folded));
+
+        boolean replaced = chatContextStore.fold(sessionId, folded.get(0), foldCount, summary);
+        count(replaced ? "folded" : "conflict");
+        log.debug("대화 요약 접기: sessionId={}, folded={}, replaced={}", sessionId, foldCount, replaced);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("chat.context.fold", "outcome", outcome).increment();
+    }
+
+    private static int lastUserIndex(List<OpenAiRequest.Message> history) {
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if ("user".equals(history.get(i).role())) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 메시지 목록을 요약 요청용 "USER: 내용" 줄 단위 문자열로 변환합니다.
+     */
+    static String formatTranscript(List<OpenAiRequest.Message> messages) {
+        return messages.stream()
+                .map(m -> String.format("%s: %s", "user".equals(m.role()) ? "USER" : "ASSISTANT", m.content()))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.buddy.buddyapi.domain.chat;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 같은 세션에 대한 대화 턴이 동시에 진행되지 않도록 하는 Redis 리스(lease) 락. (노드 간 공유)
+ * <ul>
+ *     <li>획득: SET chat:lock:{sessionId} {token} NX PX lease — 이미 진행 중이면 기다리지 않고 CHAT_TURN_IN_PROGRESS</li>
+ *     <li>펜싱: 답변 저장 직전에 토큰이 그대로인지 확인 (리스가 만료돼 다른 턴이 시작됐으면 저장하지 않음)</li>
+ *     <li>해제: 토큰이 같을 때만 DEL (Lua)</li>
+ * </ul>
+ * 세션 단위 키이므로 서로 다른 세션은 서로를 막지 않는다.
+ * Redis 를 쓸 수 없으면 대화 자체를 막지 않도록 락 없이 진행한다. (fail-open)
+ */
+@Slf4j
+@Component
+public class ChatTurnLock {
+
+    private static final String KEY_PREFIX = "chat:lock:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Duration leaseDuration;
+
+    public ChatTurnLock(
+            StringRedisTemplate redisTemplate,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${chat.turn-lock.lease:3m}") Duration leaseDuration) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * 세션의 대화 턴 리스를 획득합니다.
+     * @param sessionId 요청한 세션 ID (null 이면 새 세션이므로 락 없음)
+     * @return 획득한 리스 (락이 필요 없거나 Redis 장애면 {@link Lease#NONE})
+     * @throws BaseException 같은 세션의 다른 턴이 진행 중인 경우 (CHAT_TURN_IN_PROGRESS)
+     */
+    public Lease acquire(Long sessionId) {
+        if (sessionId == null) {
+            return Lease.NONE;
+        }
+
+        String key = KEY_PREFIX + sessionId;
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = circuitBreaker.executeSupplier(
+                    () -> redisTemplate.opsForValue().setIfAbsent(key, token, leaseDuration));
+        } catch (Exception e) {
+            count("unavailable");
+            log.warn("대화 턴 락 획득 실패 - 락 없이 진행: sessionId={}, {}", sessionId, e.getMessage());
+            return Lease.NONE;
+        }
+
+        if (!Boolean.TRUE.equals(acquired)) {
+            count("rejected");
+            throw new BaseException(ResultCode.CHAT_TURN_IN_PROGRESS);
+        }
+        count("acquired");
+        return new Lease(key, token);
+    }
+
+    /**
+     * 리스가 아직 유효한지(만료 후 다른 턴이 가져가지 않았는지) 확인합니다. 확인할 수 없으면 유효한 것으로 봅니다.
+     * @param lease 획득한 리스
+     * @return 유효 여부
+     */
+    public boolean isHeld(Lease lease) {
+        if (lease == Lease.NONE) {
+            return true;
+        }
+        try {
+            return lease.token().equals(circuitBreaker.executeSupplier(
+                    () -> redisTemplate.opsForValue().get(lease.key())));
+        } catch (Exception e) {
+            log.warn("대화 턴 락 확인 실패 - 유효한 것으로 처리: {}, {}", lease.key(), e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 리스를 반납합니다. 실패해도 lease 시간이 지나면 자동으로 풀리므로 로그만 남깁니다.
+     * @param lease 획득한 리스
+     */
+    public void release(Lease lease) {
+        if (lease == null || lease == Lease.NONE) {
+            return;
+        }
+        try {
+            circuitBreaker.executeSupplier(
+                    () -> redisTemplate.execute(RELEASE_SCRIPT, List.of(lease.key()), lease.token()));
+        } catch (Exception e) {
+            log.warn("대화 턴 락 반납 실패 - lease 만료 후 해제: {}, {}", lease.key(), e.getMessage());
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("chat.turn.lock", "outcome", outcome).increment();
+    }
+
+    /**
+     * @param key   락 키 (chat:lock:{sessionId})
+     * @param token 이 턴만 알고 있는 값 (펜싱/해제 시 비교)
+     */
+    public record Lease(String key, String token) {
+        public static final Lease NONE = new Lease(null, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.buddy.buddyapi.domain.chat.dto;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+
+import java.util.List;
+
+/**
+ * 프롬프트에 넣을 대화 컨텍스트
+ * @param summary 최근 대화 창에서 접혀 나간 이전 대화의 요약 (없으면 null)
+ * @param history 오래된 순서의 최근 메시지 목록
+ */
+public record ChatContext(String summary, List<OpenAiRequest.Message> history) {
+
+    public static final ChatContext EMPTY = new ChatContext(null, List.of());
+}
@@ -0,0 +1,9 @@
+package com.buddy.buddyapi.domain.chat.dto;
+
+import com.buddy.buddyapi.domain.chat.SenderRole;
+
+/**
+ * 컨텍스트 복구용 메시지 프로젝션 (엔티티/세션을 로딩하지 않고 역할과 내용만 조회)
+ */
+public record ChatContextRow(SenderRole role, String content) {
+}
@@ -0,0 +1,46 @@
+package com.buddy.buddyapi.domain.chat.dto;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 대화 내역 키셋 페이지네이션 커서 (마지막으로 받은 메시지의 created_at, message_id)
+ * 클라이언트에는 Base64URL 문자열로 전달되며, 내용은 해석하지 않고 그대로 돌려보내면 된다.
+ */
+public record ChatHistoryCursor(LocalDateTime createdAt, Long messageId) {
+
+    private static final String DELIMITER = "|";
+
+    public static ChatHistoryCursor from(ChatMessageResponse message) {
+        return new ChatHistoryCursor(message.createdAt(), message.messageId());
+    }
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 이전 응답의 nextCursor (null 또는 빈 값이면 첫 페이지)
+     * @return 커서 (첫 페이지면 null)
+     * @throws BaseException 커서 형식이 올바르지 않을 경우 (INVALID_INPUT)
+     */
+    public static ChatHistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new ChatHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BaseException(ResultCode.INVALID_INPUT);
+        }
+    }
+}
@@ -2,12 +2,22 @@ package com.buddy.buddyapi.domain.chat.dto;
 
 import java.util.List;
 
+/**
+ * 대화 내역 한 페이지 (최신순)
+ * @param nextCursor 다음(더 과거) 페이지 요청 시 cursor 로 보낼 값 (hasNext 가 false 면 null)
+ */
 public record ChatHistoryResponse(
         Long sessionId,
         Long characterId,
-        List<ChatMessageResponse> messages
+        List<ChatMessageResponse> messages,
+        boolean hasNext,
+        String nextCursor
 ) {
-    public static ChatHistoryResponse of(Long sessionId, Long characterId, List<ChatMessageResponse> messages) {
-        return new ChatHistoryResponse(sessionId, characterId, messages);
+    public static ChatHistoryResponse of(Long sessionId, Long characterId, List<ChatMessageResponse> messages,
+                                         boolean hasNext) {
+        String nextCursor = hasNext && !messages.isEmpty()
+                ? ChatHistoryCursor.from(messages.get(messages.size() - 1)).encode()
+                : null;
+        return new ChatHistoryResponse(sessionId, characterId, messages, hasNext, nextCursor);
     }
 }
@@ -1,6 +1,7 @@
 package com.buddy.buddyapi.domain.chat.dto;
 
 import com.buddy.buddyapi.domain.chat.ChatMessage;
+import com.buddy.buddyapi.domain.chat.SenderRole;
 
 import java.time.LocalDateTime;
 
@@ -10,6 +11,11 @@ public record ChatMessageResponse(
         String content,
         LocalDateTime createdAt
 ) {
+    // Querydsl 프로젝션용 (엔티티 로딩 없이 컬럼만 조회)
+    public ChatMessageResponse(Long messageId, SenderRole role, String content, LocalDateTime createdAt) {
+        this(messageId, role.name(), content, createdAt);
+    }
+
     public static ChatMessageResponse from(ChatMessage message) {
         return new ChatMessageResponse(
                 message.getMessageId(),
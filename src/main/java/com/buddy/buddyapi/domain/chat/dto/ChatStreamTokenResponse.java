@@ -0,0 +1,9 @@
+package com.buddy.buddyapi.domain.chat.dto;
+
+/**
+ * 스트리밍 중 전달되는 AI 답변 조각 (SSE "token" 이벤트)
+ */
+public record ChatStreamTokenResponse(
+        String content
+) {
+}
@@ -0,0 +1,27 @@
+package com.buddy.buddyapi.domain.chat.dto;
+
+import com.buddy.buddyapi.domain.ai.dto.OpenAiRequest;
+import com.buddy.buddyapi.domain.chat.ChatTurnLock;
+
+import java.util.List;
+
+/**
+ * 사용자 메시지 저장이 끝난 뒤, AI 호출에 필요한 정보를 담아 넘기는 객체
+ * @param memberId      대화 중인 회원 ID (AI 사용량 집계용)
+ * @param sessionId     대화 세션 ID
+ * @param userMessageId 1단계에서 저장한 사용자 메시지 ID (보상 시 삭제 대상)
+ * @param newSession    이번 턴에서 세션을 새로 만들었는지 여부 (보상 시 세션도 삭제)
+ * @param userContent   사용자가 보낸 메시지 (Redis 컨텍스트 저장용)
+ * @param messages      조립이 완료된 전체 메시지 리스트 (System + History + User)
+ * @param lease         세션 대화 턴 락 (턴이 끝나면 반납)
+ */
+public record ChatTurnContext(
+        Long memberId,
+        Long sessionId,
+        Long userMessageId,
+        boolean newSession,
+        String userContent,
+        List<OpenAiRequest.Message> messages,
+        ChatTurnLock.Lease lease
+) {
+}
@@ -2,6 +2,7 @@ package com.buddy.buddyapi.domain.diary;
 
 import com.buddy.buddyapi.domain.diary.dto.*;
 import com.buddy.buddyapi.global.common.ApiResponse;
+import com.buddy.buddyapi.global.idempotency.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -18,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,13 +31,48 @@ import java.util.List;
 public class DiaryController {
 
     private final DiaryService diaryService;
+    private final DiaryDraftJobService diaryDraftJobService;
+    private final IdempotencyService idempotencyService;
 
-    @Operation(summary = "대화 기반 AI 일기 생성", description = "대화 세션을 기반으로 AI가 일기 초안과 태그를 생성합니다.")
+    @Operation(summary = "대화 기반 AI 일기 생성",
+            description = "대화 세션을 기반으로 AI가 일기 초안과 태그를 생성합니다. 재시도 시 같은 Idempotency-Key 를 보내면 처음 초안을 그대로 받습니다.")
     @PostMapping("/from-chat")
     public ResponseEntity<ApiResponse<DiaryPreviewResponse>> generateDiaryFromChat(
             @AuthenticationPrincipal Long memberId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody GenerateDiaryRequest request) {
-        return ResponseEntity.ok(ApiResponse.ok(diaryService.generateDiaryFromChat(memberId, request)));
+        DiaryPreviewResponse response = idempotencyService.execute(memberId, "diary-from-chat", idempotencyKey, request,
+                DiaryPreviewResponse.class, () -> diaryService.generateDiaryFromChat(memberId, request));
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+
+    @Operation(summary = "대화 기반 AI 일기 생성 작업 등록",
+            description = "초안 생성을 백그라운드 작업으로 등록하고 jobId 를 바로 반환합니다. 결과는 폴링, SSE 구독, 또는 완료 푸시로 받습니다.")
+    @PostMapping("/from-chat/jobs")
+    public ResponseEntity<ApiResponse<DiaryDraftJobResponse>> submitDiaryDraftJob(
+            @AuthenticationPrincipal Long memberId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody GenerateDiaryRequest request) {
+        DiaryDraftJobResponse response = idempotencyService.execute(memberId, "diary-draft-job", idempotencyKey, request,
+                DiaryDraftJobResponse.class, () -> diaryDraftJobService.submit(memberId, request));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(response));
+    }
+
+    @Operation(summary = "일기 생성 작업 조회", description = "작업 상태를 조회합니다. SUCCEEDED 면 draft 에 초안이 담겨 있습니다.")
+    @GetMapping("/from-chat/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<DiaryDraftJobResponse>> getDiaryDraftJob(
+            @AuthenticationPrincipal Long memberId,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.ok(diaryDraftJobService.getJob(memberId, jobId)));
+    }
+
+    @Operation(summary = "일기 생성 작업 구독 (SSE)",
+            description = "작업이 끝나면 이벤트를 보냅니다. 이벤트: status(현재 상태) → done(DiaryDraftJobResponse)")
+    @GetMapping(value = "/from-chat/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDiaryDraftJob(
+            @AuthenticationPrincipal Long memberId,
+            @PathVariable String jobId) {
+        return diaryDraftJobService.subscribe(memberId, jobId);
     }
 
     @Operation(summary = "일기 생성", description = "새로운 일기를 저장합니다.")
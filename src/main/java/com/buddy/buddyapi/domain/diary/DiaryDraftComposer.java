@@ -0,0 +1,107 @@
+package com.buddy.buddyapi.domain.diary;
+
+import com.buddy.buddyapi.domain.ai.AiService;
+import com.buddy.buddyapi.domain.chat.ChatService;
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 대화 세션으로 일기 초안(JSON 문자열)을 만든다.
+ * <ul>
+ *     <li>대화를 토큰 상한(segment-tokens) 이내 구간으로 나눔 (DB 스트리밍)</li>
+ *     <li>구간이 하나면 기존처럼 대본 전체로 바로 초안 작성</li>
+ *     <li>여러 개면 구간별 정리를 map-concurrency 개씩 병렬로 만든 뒤(map), 정리를 모아 초안 작성(reduce)</li>
+ * </ul>
+ * 긴 세션도 한 번의 요청 크기가 구간 상한으로 묶이고, 구간 정리는 병렬이라 전체 지연이 대화 길이에 비례해 늘지 않는다.
+ */
+@Slf4j
+@Component
+public class DiaryDraftComposer {
+
+    private final ChatService chatService;
+    private final AiService aiService;
+    private final MeterRegistry meterRegistry;
+    private final int segmentTokens;
+    private final int mapConcurrency;
+
+    public DiaryDraftComposer(
+            ChatService chatService,
+            AiService aiService,
+            MeterRegistry meterRegistry,
+            @Value("${diary.draft.segment-tokens:3000}") int segmentTokens,
+            @Value("${diary.draft.map-concurrency:4}") int mapConcurrency) {
+        this.chatService = chatService;
+        this.aiService = aiService;
+        this.meterRegistry = meterRegistry;
+        this.segmentTokens = segmentTokens;
+        this.mapConcurrency = mapConcurrency;
+    }
+
+    /**
+     * @param memberId  요청한 회원 ID
+     * @param sessionId 초안을 만들 세션 ID
+     * @return AI 가 생성한 일기 초안 (JSON 문자열)
+     * @throws BaseException 세션이 없거나 대화 내역이 비어있는 경우, AI 호출이 실패한 경우
+     */
+    public String compose(Long memberId, Long sessionId) {
+        // 읽기 트랜잭션은 구간 분할까지만 (AI 호출은 트랜잭션 밖)
+        List<String> segments = chatService.segmentChatHistory(sessionId, memberId, segmentTokens);
+        meterRegistry.summary("diary.draft.segments").record(segments.size());
+
+        if (segments.size() == 1) {
+            return aiService.getDiaryDraft(memberId, segments.get(0));
+        }
+
+        log.info("긴 대화 일기 초안 - 구간 {}개로 나눠 정리 sessionId={}", segments.size(), sessionId);
+        List<String> notes = summarizeSegments(memberId, segments);
+        return aiService.composeDiaryDraft(memberId, notes);
+    }
+
+    /**
+     * 구간별 정리를 병렬로 만듭니다. 결과는 구간 순서를 유지하며, 하나라도 실패하면 나머지를 취소하고 실패시킵니다.
+     */
+    private List<String> summarizeSegments(Long memberId, List<String> segments) {
+        int total = segments.size();
+        int workers = Math.min(mapConcurrency, total);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers,
+                Thread.ofVirtual().name("diary-draft-map-", 0).factory())) {
+            List<Future<String>> futures = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                int part = i + 1;
+                String segment = segments.get(i);
+                futures.add(executor.submit(() -> aiService.summarizeDiarySegment(memberId, part, total, segment)));
+            }
+
+            List<String> notes = new ArrayList<>(total);
+            try {
+                for (Future<String> future : futures) {
+                    notes.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                if (e.getCause() instanceof BaseException be) {
+                    throw be;
+                }
+                log.error("일기 구간 정리 실패: {}", e.getCause().getMessage());
+                throw new BaseException(ResultCode.AI_PARSE_ERROR);
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new BaseException(ResultCode.AI_PARSE_ERROR);
+            }
+            return notes;
+        }
+    }
+}
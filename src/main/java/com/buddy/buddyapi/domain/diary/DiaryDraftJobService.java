@@ -0,0 +1,379 @@
+package com.buddy.buddyapi.domain.diary;
+
+import com.buddy.buddyapi.domain.diary.dto.DiaryDraftJobResponse;
+import com.buddy.buddyapi.domain.diary.dto.DiaryPreviewResponse;
+import com.buddy.buddyapi.domain.diary.dto.GenerateDiaryRequest;
+import com.buddy.buddyapi.domain.member.MemberService;
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.buddy.buddyapi.global.infra.FcmService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대화 기반 일기 초안을 비동기 작업으로 생성한다. (POST /api/v1/diaries/from-chat/jobs)
+ * <ul>
+ *     <li>요청 스레드는 작업을 큐에 넣고 jobId 만 돌려준다. (OpenAI 응답을 기다리지 않음)</li>
+ *     <li>작업은 이 서비스가 소유한 고정 크기 워커 풀에서 실행된다. 큐가 가득 차면 DIARY_DRAFT_JOB_UNAVAILABLE</li>
+ *     <li>상태/결과는 Redis diary:draft-job:{jobId} 에 저장 → 어느 노드에서든 폴링 가능</li>
+ *     <li>SSE 구독 중이면 완료 이벤트로, 화면을 떠났으면 FCM 푸시로 완료를 알린다.</li>
+ * </ul>
+ * DB 커넥션은 대화 내역을 읽는 짧은 읽기 트랜잭션 동안만 사용한다. (AI 호출은 트랜잭션 밖)
+ * 워커 풀은 Executor 빈으로 등록하지 않는다. (등록하면 Boot 기본 applicationTaskExecutor 가 사라짐)
+ */
+@Slf4j
+@Service
+public class DiaryDraftJobService {
+
+    private static final String KEY_PREFIX = "diary:draft-job:";
+
+    private final DiaryService diaryService;
+    private final MemberService memberService;
+    private final FcmService fcmService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Duration pendingTtl;
+    private final Duration resultTtl;
+    private final Duration streamTimeout;
+    private final Duration pollInterval;
+
+    private final ThreadPoolExecutor executor;
+
+    // 이 노드에서 실행 중인 작업 (같은 노드의 SSE 구독은 Redis 폴링 없이 완료를 받음)
+    private final ConcurrentHashMap<String, CompletableFuture<DiaryDraftJobResponse>> running = new ConcurrentHashMap<>();
+    // 작업별 SSE 구독자 수 (완료 시점에 구독자가 있으면 푸시 생략)
+    private final ConcurrentHashMap<String, Integer> watchers = new ConcurrentHashMap<>();
+
+    public DiaryDraftJobService(
+            DiaryService diaryService,
+            MemberService memberService,
+            FcmService fcmService,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${diary.draft-job.workers:4}") int workers,
+            @Value("${diary.draft-job.queue-capacity:100}") int queueCapacity,
+            @Value("${diary.draft-job.pending-ttl:10m}") Duration pendingTtl,
+            @Value("${diary.draft-job.result-ttl:1h}") Duration resultTtl,
+            @Value("${diary.draft-job.stream-timeout:3m}") Duration streamTimeout,
+            @Value("${diary.draft-job.poll-interval:1s}") Duration pollInterval) {
+        this.diaryService = diaryService;
+        this.memberService = memberService;
+        this.fcmService = fcmService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.pendingTtl = pendingTtl;
+        this.resultTtl = resultTtl;
+        this.streamTimeout = streamTimeout;
+        this.pollInterval = pollInterval;
+
+        // 워커 수 = OpenAI 동시 호출 상한, 큐 용량 = 대기 가능한 작업 수 (초과 시 AbortPolicy → 거절)
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("diary-draft-", 0).daemon(true).factory());
+        // executor.queued / executor.active / executor.queue.remaining {name=diary.draft}
+        new ExecutorServiceMetrics(executor, "diary.draft", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * 일기 초안 작업을 큐에 넣습니다.
+     * @param memberId 요청한 회원 ID
+     * @param request  초안을 만들 세션 ID
+     * @return QUEUED 상태의 작업 정보 (jobId 포함)
+     * @throws BaseException 큐가 가득 찼거나 작업 저장소(Redis)를 쓸 수 없는 경우 (DIARY_DRAFT_JOB_UNAVAILABLE)
+     */
+    public DiaryDraftJobResponse submit(Long memberId, GenerateDiaryRequest request) {
+        String jobId = UUID.randomUUID().toString();
+        DiaryDraftJobResponse queued = DiaryDraftJobResponse.of(jobId, DiaryDraftJobStatus.QUEUED);
+
+        try {
+            save(memberId, queued, pendingTtl);
+        } catch (Exception e) {
+            count("unavailable");
+            log.warn("일기 초안 작업 저장 실패 - jobId={}, {}", jobId, e.getMessage());
+            throw new BaseException(ResultCode.DIARY_DRAFT_JOB_UNAVAILABLE);
+        }
+
+        running.put(jobId, new CompletableFuture<>());
+        try {
+            executor.execute(new DraftTask(jobId, memberId, request, System.nanoTime()));
+        } catch (RejectedExecutionException e) {
+            running.remove(jobId);
+            delete(jobId);
+            count("rejected");
+            log.warn("일기 초안 작업 큐 포화 - 거절: memberId={}, queued={}", memberId, executor.getQueue().size());
+            throw new BaseException(ResultCode.DIARY_DRAFT_JOB_UNAVAILABLE);
+        }
+
+        count("submitted");
+        return queued;
+    }
+
+    /**
+     * 작업 상태를 조회합니다. (폴링)
+     * @param memberId 요청한 회원 ID
+     * @param jobId    작업 ID
+     * @return 작업 상태 (완료 시 초안 또는 실패 사유 포함)
+     * @throws BaseException 작업이 없거나 만료됐거나 다른 회원의 작업인 경우 (DIARY_DRAFT_JOB_NOT_FOUND)
+     */
+    public DiaryDraftJobResponse getJob(Long memberId, String jobId) {
+        StoredJob stored;
+        try {
+            stored = find(jobId);
+        } catch (Exception e) {
+            log.warn("일기 초안 작업 조회 실패 - jobId={}, {}", jobId, e.getMessage());
+            throw new BaseException(ResultCode.DIARY_DRAFT_JOB_UNAVAILABLE);
+        }
+        if (stored == null || !stored.memberId().equals(memberId)) {
+            throw new BaseException(ResultCode.DIARY_DRAFT_JOB_NOT_FOUND);
+        }
+        return stored.job();
+    }
+
+    /**
+     * 작업 완료를 SSE 로 구독합니다. 이벤트: status(현재 상태) → done(완료된 작업)
+     * 작업 확인은 동기로 처리해서 없는 작업이면 일반 JSON 에러 응답을 받도록 함
+     * @param memberId 요청한 회원 ID
+     * @param jobId    작업 ID
+     * @return 완료 이벤트를 보낼 SseEmitter
+     */
+    public SseEmitter subscribe(Long memberId, String jobId) {
+        DiaryDraftJobResponse current = getJob(memberId, jobId);
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        if (current.status().isFinished()) {
+            finish(emitter, current);
+            return emitter;
+        }
+        send(emitter, "status", current);
+
+        // 구독자를 먼저 등록하고 실행 중인지 확인 (complete 는 running 을 지운 뒤 구독자를 확인하므로,
+        // 여기서 running 을 찾았다면 complete 가 이 구독자를 보고 푸시를 생략함)
+        watchers.merge(jobId, 1, Integer::sum);
+        Runnable leave = () -> watchers.computeIfPresent(jobId, (k, v) -> v > 1 ? v - 1 : null);
+        CompletableFuture<DiaryDraftJobResponse> local = running.get(jobId);
+        if (local != null) {
+            emitter.onCompletion(leave);
+            emitter.onTimeout(leave);
+            emitter.onError(e -> leave.run());
+            local.thenAccept(result -> finish(emitter, result));
+            return emitter;
+        }
+        leave.run();
+
+        // 그 사이 이 노드에서 끝났으면 저장된 결과로 바로 완료 (complete 가 등록을 봤다면 푸시는 생략됨)
+        try {
+            DiaryDraftJobResponse latest = getJob(memberId, jobId);
+            if (latest.status().isFinished()) {
+                finish(emitter, latest);
+                return emitter;
+            }
+        } catch (BaseException e) {
+            log.debug("일기 초안 작업 재확인 실패 - 폴링으로 확인: jobId={}, {}", jobId, e.getMessage());
+        }
+
+        // 다른 노드에서 실행 중 → 완료될 때까지 Redis 폴링
+        Thread.ofVirtual().name("diary-draft-watch-" + jobId).start(() -> pollUntilFinished(memberId, jobId, emitter));
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            // 시작하지 못한 작업은 실패로 기록해서 폴링 중인 클라이언트가 pending-ttl 까지 기다리지 않도록 함
+            for (Runnable runnable : dropped) {
+                if (runnable instanceof DraftTask task) {
+                    complete(task, DiaryDraftJobResponse.failed(task.jobId(), ResultCode.DIARY_DRAFT_JOB_UNAVAILABLE,
+                            ResultCode.DIARY_DRAFT_JOB_UNAVAILABLE.getMessage()));
+                }
+            }
+            log.warn("일기 초안 작업 종료 대기 시간 초과 - 미처리 {}건 실패 처리", dropped.size());
+        }
+    }
+
+    private void run(DraftTask task) {
+        meterRegistry.timer("diary.draft.jobs.wait").record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+        saveQuietly(task.memberId(), DiaryDraftJobResponse.of(task.jobId(), DiaryDraftJobStatus.RUNNING), pendingTtl);
+
+        DiaryDraftJobResponse result;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DiaryPreviewResponse draft = diaryService.generateDiaryFromChat(task.memberId(), task.request());
+            result = DiaryDraftJobResponse.succeeded(task.jobId(), draft);
+        } catch (BaseException e) {
+            log.warn("일기 초안 작업 실패 [{}] jobId={}", e.getResultCode().getCode(), task.jobId());
+            result = DiaryDraftJobResponse.failed(task.jobId(), e.getResultCode(), e.getResponseMessage());
+        } catch (Exception e) {
+            log.error("일기 초안 작업 중 예기치 못한 오류 jobId={}: {}", task.jobId(), e.getMessage(), e);
+            result = DiaryDraftJobResponse.failed(task.jobId(), ResultCode.INTERNAL_SERVER_ERROR,
+                    ResultCode.INTERNAL_SERVER_ERROR.getMessage());
+        }
+        sample.stop(meterRegistry.timer("diary.draft.jobs.duration", "status", result.status().name()));
+
+        complete(task, result);
+    }
+
+    /**
+     * 결과를 저장하고 로컬 구독자에게 알립니다. 구독자가 없으면(화면을 떠났으면) 푸시를 보냅니다.
+     */
+    private void complete(DraftTask task, DiaryDraftJobResponse result) {
+        saveQuietly(task.memberId(), result, resultTtl);
+        count(result.status().name().toLowerCase());
+
+        // running 을 먼저 지워야 subscribe 가 등록한 구독자를 놓치지 않음
+        CompletableFuture<DiaryDraftJobResponse> local = running.remove(task.jobId());
+        boolean watched = watchers.remove(task.jobId()) != null;
+        if (local != null) {
+            local.complete(result);
+        }
+        if (!watched) {
+            notifyByPush(task.memberId(), result);
+        }
+    }
+
+    private void notifyByPush(Long memberId, DiaryDraftJobResponse result) {
+        try {
+            String pushToken = memberService.getMemberById(memberId).getPushToken();
+            if (result.status() == DiaryDraftJobStatus.SUCCEEDED) {
+                fcmService.sendPushOne(pushToken, "일기 초안이 준비됐어요", "오늘 대화로 만든 일기를 확인해보세요.");
+            } else {
+                fcmService.sendPushOne(pushToken, "일기 초안을 만들지 못했어요", "잠시 후 다시 시도해주세요.");
+            }
+        } catch (Exception e) {
+            log.warn("일기 초안 완료 푸시 실패 - memberId={}, {}", memberId, e.getMessage());
+        }
+    }
+
+    private void pollUntilFinished(Long memberId, String jobId, SseEmitter emitter) {
+        long deadline = System.nanoTime() + streamTimeout.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval);
+                StoredJob stored = find(jobId);
+                if (stored == null || !stored.memberId().equals(memberId)) {
+                    // 실행 노드가 죽어 pending-ttl 이 지난 경우
+                    finish(emitter, DiaryDraftJobResponse.failed(jobId, ResultCode.DIARY_DRAFT_JOB_NOT_FOUND,
+                            ResultCode.DIARY_DRAFT_JOB_NOT_FOUND.getMessage()));
+                    return;
+                }
+                if (stored.job().status().isFinished()) {
+                    finish(emitter, stored.job());
+                    return;
+                }
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (Exception e) {
+            log.warn("일기 초안 작업 구독 중 조회 실패 - jobId={}, {}", jobId, e.getMessage());
+            emitter.complete();
+        }
+    }
+
+    private void finish(SseEmitter emitter, DiaryDraftJobResponse result) {
+        send(emitter, "done", result);
+        emitter.complete();
+    }
+
+    /**
+     * SSE 이벤트 하나를 JSON으로 전송합니다. 클라이언트가 떠났으면 무시합니다. (푸시로 알림)
+     */
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            log.debug("SSE 전송 실패 - 클라이언트 연결 종료로 판단: {}", e.getMessage());
+        }
+    }
+
+    private void save(Long memberId, DiaryDraftJobResponse job, Duration ttl) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(new StoredJob(memberId, job));
+        circuitBreaker.executeRunnable(() -> redisTemplate.opsForValue().set(KEY_PREFIX + job.jobId(), json, ttl));
+    }
+
+    private void saveQuietly(Long memberId, DiaryDraftJobResponse job, Duration ttl) {
+        try {
+            save(memberId, job, ttl);
+        } catch (Exception e) {
+            log.warn("일기 초안 작업 상태 저장 실패 - jobId={}, status={}, {}", job.jobId(), job.status(), e.getMessage());
+        }
+    }
+
+    private StoredJob find(String jobId) throws JsonProcessingException {
+        String json = circuitBreaker.executeSupplier(() -> redisTemplate.opsForValue().get(KEY_PREFIX + jobId));
+        return json == null ? null : objectMapper.readValue(json, StoredJob.class);
+    }
+
+    private void delete(String jobId) {
+        try {
+            circuitBreaker.executeSupplier(() -> redisTemplate.delete(KEY_PREFIX + jobId));
+        } catch (Exception e) {
+            log.warn("일기 초안 작업 삭제 실패 - pending-ttl 후 만료: jobId={}, {}", jobId, e.getMessage());
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("diary.draft.jobs", "outcome", outcome).increment();
+    }
+
+    /**
+     * Redis 에 저장하는 값 (소유자 확인용 memberId 포함)
+     */
+    private record StoredJob(Long memberId, DiaryDraftJobResponse job) {}
+
+    private final class DraftTask implements Runnable {
+
+        private final String jobId;
+        private final Long memberId;
+        private final GenerateDiaryRequest request;
+        private final long enqueuedAt;
+
+        private DraftTask(String jobId, Long memberId, GenerateDiaryRequest request, long enqueuedAt) {
+            this.jobId = jobId;
+            this.memberId = memberId;
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        String jobId() { return jobId; }
+        Long memberId() { return memberId; }
+        GenerateDiaryRequest request() { return request; }
+        long enqueuedAt() { return enqueuedAt; }
+
+        @Override
+        public void run() {
+            DiaryDraftJobService.this.run(this);
+        }
+    }
+}
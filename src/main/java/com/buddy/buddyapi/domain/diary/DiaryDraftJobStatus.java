@@ -0,0 +1,15 @@
+package com.buddy.buddyapi.domain.diary;
+
+/**
+ * 비동기 일기 초안 작업 상태
+ */
+public enum DiaryDraftJobStatus {
+    QUEUED,     // 작업 큐에서 대기 중
+    RUNNING,    // 대화 내역 조회 / AI 호출 중
+    SUCCEEDED,  // 초안 생성 완료 (draft 포함)
+    FAILED;     // 실패 (errorCode, errorMessage 포함)
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -10,7 +10,6 @@ import com.buddy.buddyapi.domain.member.MemberService;
 import com.buddy.buddyapi.global.aspect.Timer;
 import com.buddy.buddyapi.global.exception.BaseException;
 import com.buddy.buddyapi.global.exception.ResultCode;
-import com.buddy.buddyapi.domain.ai.AiService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +35,7 @@ public class DiaryService {
     private final TagRepository tagRepository;
 
     private final MemberService memberService;
-    private final AiService aiService;
+    private final DiaryDraftComposer diaryDraftComposer;
     private final ChatService chatService;
     private final MemberInsightService insightService;
 
@@ -51,16 +50,12 @@ public class DiaryService {
      * @return AI가 생성한 일기 제목, 본문, 추천 태그 정보를 담은 프리뷰 응답 DTO
      * @throws BaseException 세션을 찾을 수 없거나 대화 내역이 비어있을 경우 발생
      */
+    // 트랜잭션 없음: 대화 내역 조회(ChatService 읽기 트랜잭션)가 끝난 뒤 커넥션을 반납하고 AI 응답을 기다림
     @Timer
-    @Transactional(readOnly = true)
     public DiaryPreviewResponse generateDiaryFromChat(Long memberId, GenerateDiaryRequest request) {
 
-        String fullConversation = chatService.formatChatHistory(request.sessionId(), memberId);
-
-        // AI 서비스 호출 (페르소나와 대화 내용 전달)
-        String rawResponse = aiService.getDiaryDraft(
-                fullConversation
-        );
+        // 대화 길이에 따라 한 번에 작성하거나, 구간별 정리 후 작성 (DiaryDraftComposer)
+        String rawResponse = diaryDraftComposer.compose(memberId, request.sessionId());
 
         log.info("AI 응답 일기 초안 : \n{}",rawResponse);
 
@@ -301,7 +296,7 @@ public class DiaryService {
      * @return 파싱된 일기 데이터와 태그 리스트가 포함된 DTO
      * @throws BaseException JSON 파싱에 실패하거나 규격이 맞지 않을 경우 발생
      */
-    private DiaryPreviewResponse parseAiResponse(String jsonString) {
+    DiaryPreviewResponse parseAiResponse(String jsonString) {
         try {
             int startIndex = jsonString.indexOf("{");
             int endIndex = jsonString.lastIndexOf("}");
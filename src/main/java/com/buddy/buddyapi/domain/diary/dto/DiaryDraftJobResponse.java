@@ -0,0 +1,32 @@
+package com.buddy.buddyapi.domain.diary.dto;
+
+import com.buddy.buddyapi.domain.diary.DiaryDraftJobStatus;
+import com.buddy.buddyapi.global.exception.ResultCode;
+
+/**
+ * 비동기 일기 초안 작업 상태 응답
+ * @param jobId        작업 ID (폴링/SSE 구독에 사용)
+ * @param status       작업 상태
+ * @param draft        생성된 초안 (SUCCEEDED 일 때만)
+ * @param errorCode    실패 코드 (FAILED 일 때만)
+ * @param errorMessage 실패 메시지 (FAILED 일 때만)
+ */
+public record DiaryDraftJobResponse(
+        String jobId,
+        DiaryDraftJobStatus status,
+        DiaryPreviewResponse draft,
+        String errorCode,
+        String errorMessage
+) {
+    public static DiaryDraftJobResponse of(String jobId, DiaryDraftJobStatus status) {
+        return new DiaryDraftJobResponse(jobId, status, null, null, null);
+    }
+
+    public static DiaryDraftJobResponse succeeded(String jobId, DiaryPreviewResponse draft) {
+        return new DiaryDraftJobResponse(jobId, DiaryDraftJobStatus.SUCCEEDED, draft, null, null);
+    }
+
+    public static DiaryDraftJobResponse failed(String jobId, ResultCode resultCode, String message) {
+        return new DiaryDraftJobResponse(jobId, DiaryDraftJobStatus.FAILED, null, resultCode.getCode(), message);
+    }
+}
@@ -35,13 +35,13 @@ public class MemberInsightController {
 
     @Operation(
             summary = "주간 아이덴티티(칭호) 조회",
-            description = "유저의 지난주 일기를 바탕으로 AI가 분석한 주간 칭호와 핵심 태그를 반환합니다. (이번 주 최초 조회 시에만 AI 분석이 실행되며, 이후에는 저장된 데이터를 빠르게 반환합니다. 작성된 일기가 없으면 null이 반환됩니다.)"
+            description = "유저의 지난주 일기를 바탕으로 AI가 분석한 주간 칭호와 핵심 태그를 반환합니다. (매주 월요일 배치로 미리 분석해 둔 값을 반환하며, 아직 분석되지 않았으면 이번 주 최초 조회 시 AI 분석이 실행됩니다. 작성된 일기가 없으면 null이 반환됩니다.)"
     )
     @GetMapping("/weekly/identity")
     public ResponseEntity<ApiResponse<WeeklyIdentityResponse>> getMyWeeklyIdentity(
             @AuthenticationPrincipal Long memberId) {
 
-        WeeklyIdentityResponse response = insightService.getOrUpdateWeeklyInsight(memberId);
+        WeeklyIdentityResponse response = insightService.getWeeklyInsight(memberId);
 
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
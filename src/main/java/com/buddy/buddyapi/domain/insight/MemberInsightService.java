@@ -10,16 +10,21 @@ import com.buddy.buddyapi.domain.member.Member;
 import com.buddy.buddyapi.domain.member.MemberService;
 import com.buddy.buddyapi.global.exception.BaseException;
 import com.buddy.buddyapi.global.exception.ResultCode;
+import com.buddy.buddyapi.global.singleflight.SingleFlight;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -27,6 +32,11 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class MemberInsightService {
 
+    // 주간 칭호 생성 single-flight (월요일 배치와 같은 키를 공유)
+    // 조회 API 는 flight 안에서 저장까지 끝내므로 결과는 잠깐만 공유 (배치는 페이지 저장 전까지 따로 보관)
+    static final String WEEKLY_FLIGHT = "weekly-insight";
+    static final Duration WEEKLY_FLIGHT_RESULT_TTL = Duration.ofMinutes(1);
+
     private final MemberInsightRepository memberInsightRepository;
 
     private final MemberService memberService;
@@ -35,9 +45,41 @@ public class MemberInsightService {
 
     private final ObjectMapper objectMapper;
 
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate transactionTemplate;
+
+
+    /**
+     * 주간 아이덴티티(칭호) 조회.
+     * 월요일 배치가 저장한 값을 읽고, 없으면 지연 생성한다. 같은 회원·같은 주의 동시 요청은 클러스터 전체에서
+     * 한 번만 생성(AI 호출 + 저장)하고 나머지는 그 결과를 받는다. (대기 중에는 트랜잭션/커넥션을 잡지 않음)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WeeklyIdentityResponse getWeeklyInsight(Long memberId) {
+        Optional<WeeklyIdentityResponse> stored = findWeeklyInsight(memberId);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        String key = weeklyFlightKey(memberId, LocalDate.now().with(DayOfWeek.MONDAY));
+        return singleFlight.execute(WEEKLY_FLIGHT, key, WEEKLY_FLIGHT_RESULT_TTL, WeeklyIdentityResponse.class,
+                () -> transactionTemplate.execute(status -> getOrUpdateWeeklyInsight(memberId)));
+    }
+
+    /**
+     * 이번 주 주간 아이덴티티(칭호) 조회 (월요일 배치가 미리 저장한 값, 읽기 전용)
+     * @return 이번 주에 갱신된 값이 없으면 empty → getOrUpdateWeeklyInsight 로 지연 생성
+     */
+    public Optional<WeeklyIdentityResponse> findWeeklyInsight(Long memberId) {
+        return memberInsightRepository.findByMember_MemberId(memberId)
+                .filter(this::isCacheValid)
+                .map(WeeklyIdentityResponse::from);
+    }
 
     /**
      * 주간 아이덴티티(칭호) 조회 및 생성 (Lazy Evaluation)
+     * 월요일 배치(WeeklyInsightBatchService)가 처리하지 못한 회원만 이 경로로 들어온다.
+     * 동시 요청 중복 생성을 막으려면 getWeeklyInsight 를 통해 호출할 것.
      */
     @Transactional
     public WeeklyIdentityResponse getOrUpdateWeeklyInsight(Long memberId) {
@@ -72,7 +114,7 @@ public class MemberInsightService {
         }
 
         // 대망의 AI 호출
-        String rawJsonResponse = aiService.getWeeklyIdentityDraft(diaryContents);
+        String rawJsonResponse = aiService.getWeeklyIdentityDraft(memberId, diaryContents);
 
         // JSON 파싱 및 DB 업데이트
         ParsedInsightDto parsedDto = parseAiResponse(rawJsonResponse);
@@ -163,6 +205,10 @@ public class MemberInsightService {
 
 
 
+    static String weeklyFlightKey(Long memberId, LocalDate weekMonday) {
+        return memberId + ":" + weekMonday;
+    }
+
     /**
      * 캐시 유효성 검사
      */
@@ -181,7 +227,7 @@ public class MemberInsightService {
         return WeeklyIdentityResponse.from(insight);
     }
 
-    private ParsedInsightDto parseAiResponse(String rawJsonResponse) {
+    ParsedInsightDto parseAiResponse(String rawJsonResponse) {
         try{
             int startIndex = rawJsonResponse.indexOf("{");
             int endIndex = rawJsonResponse.lastIndexOf("}");
@@ -262,7 +308,7 @@ public class MemberInsightService {
         return a.isAfter(b) ? a : b;
     }
 
-    private record ParsedInsightDto(String weeklyIdentity, String weeklyKeyword) {}
+    record ParsedInsightDto(String weeklyIdentity, String weeklyKeyword) {}
 
 
 }
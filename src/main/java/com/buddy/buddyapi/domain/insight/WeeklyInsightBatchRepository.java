@@ -0,0 +1,105 @@
+package com.buddy.buddyapi.domain.insight;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주간 칭호 배치 전용 JDBC 쿼리. (엔티티를 올리지 않고 키셋 페이지 조회 / 배치 upsert)
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeeklyInsightBatchRepository {
+
+    private static final int IDENTITY_MAX_LENGTH = 50;
+    private static final int KEYWORD_MAX_LENGTH = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 지난주에 일기를 쓴 회원 중 이번 주 칭호가 아직 없는 회원을 member_id 순으로 조회합니다. (키셋 페이지, IX_diary_member_date)
+     * @param afterMemberId 이전 페이지의 마지막 member_id (처음이면 0)
+     * @param from          지난주 월요일
+     * @param to            지난주 일요일
+     * @param weekStart     이번 주 월요일 00:00 (이후 갱신된 회원은 제외)
+     * @param limit         페이지 크기
+     */
+    public List<Long> findPendingDiaryAuthors(long afterMemberId, LocalDate from, LocalDate to,
+                                              LocalDateTime weekStart, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT d.member_id
+                FROM diary d
+                LEFT JOIN member_insight mi ON mi.member_id = d.member_id
+                WHERE d.member_id > ?
+                  AND d.diary_date BETWEEN ? AND ?
+                  AND (mi.weekly_updated_at IS NULL OR mi.weekly_updated_at < ?)
+                GROUP BY d.member_id
+                ORDER BY d.member_id
+                LIMIT ?
+                """, Long.class, afterMemberId, from, to, Timestamp.valueOf(weekStart), limit);
+    }
+
+    /**
+     * 주간 칭호를 배치로 저장합니다. 행이 없으면 만들고, 있으면 칭호만 덮어씁니다. (streak 컬럼은 그대로)
+     * 이번 주에 이미 갱신된 행(조회 API 의 지연 생성이 먼저 저장한 경우)은 덮어쓰지 않습니다.
+     * @param rows      저장할 칭호
+     * @param weekStart 이번 주 월요일 00:00 (이후 갱신된 행은 그대로 둠)
+     * @param updatedAt weekly_updated_at
+     */
+    public void upsertWeeklyInsights(List<WeeklyInsightRow> rows, LocalDateTime weekStart, LocalDateTime updatedAt) {
+        Timestamp weekStartTimestamp = Timestamp.valueOf(weekStart);
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        // MySQL 은 SET 을 왼쪽부터 적용하므로 weekly_updated_at 은 마지막에 바꿔야 앞의 조건이 이전 값을 본다
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO member_insight (member_id, weekly_identity, weekly_keyword, weekly_updated_at)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    weekly_identity   = IF(weekly_updated_at IS NULL OR weekly_updated_at < ?,
+                                           VALUES(weekly_identity), weekly_identity),
+                    weekly_keyword    = IF(weekly_updated_at IS NULL OR weekly_updated_at < ?,
+                                           VALUES(weekly_keyword), weekly_keyword),
+                    weekly_updated_at = IF(weekly_updated_at IS NULL OR weekly_updated_at < ?,
+                                           VALUES(weekly_updated_at), weekly_updated_at)
+                """, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.memberId());
+            ps.setString(2, truncate(row.weeklyIdentity(), IDENTITY_MAX_LENGTH));
+            ps.setString(3, truncate(row.weeklyKeyword(), KEYWORD_MAX_LENGTH));
+            ps.setTimestamp(4, timestamp);
+            ps.setTimestamp(5, weekStartTimestamp);
+            ps.setTimestamp(6, weekStartTimestamp);
+            ps.setTimestamp(7, weekStartTimestamp);
+        });
+    }
+
+    /**
+     * 지난주 일기가 없는 회원의 지난 칭호를 비웁니다. (조회 시 지연 생성으로 넘어가지 않도록)
+     * 지난주 일기가 있는데 배치에서 실패한 회원은 건드리지 않아 지연 생성으로 다시 시도됩니다.
+     * @return 갱신된 행 수
+     */
+    public int clearWeeklyInsightsWithoutDiaries(LocalDate from, LocalDate to, LocalDateTime weekStart,
+                                                 LocalDateTime updatedAt) {
+        return jdbcTemplate.update("""
+                UPDATE member_insight mi
+                SET weekly_identity = NULL, weekly_keyword = NULL, weekly_updated_at = ?
+                WHERE (mi.weekly_updated_at IS NULL OR mi.weekly_updated_at < ?)
+                  AND NOT EXISTS (SELECT 1 FROM diary d
+                                  WHERE d.member_id = mi.member_id AND d.diary_date BETWEEN ? AND ?)
+                """, Timestamp.valueOf(updatedAt), Timestamp.valueOf(weekStart), from, to);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * @param memberId       회원 PK
+     * @param weeklyIdentity AI 가 만든 칭호
+     * @param weeklyKeyword  AI 가 만든 핵심 키워드
+     */
+    public record WeeklyInsightRow(Long memberId, String weeklyIdentity, String weeklyKeyword) {}
+}
@@ -0,0 +1,278 @@
+package com.buddy.buddyapi.domain.insight;
+
+import com.buddy.buddyapi.domain.ai.AiService;
+import com.buddy.buddyapi.domain.diary.DiaryQueryService;
+import com.buddy.buddyapi.domain.insight.WeeklyInsightBatchRepository.WeeklyInsightRow;
+import com.buddy.buddyapi.domain.insight.dto.WeeklyIdentityResponse;
+import com.buddy.buddyapi.global.singleflight.SingleFlight;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 월요일에 지난주 일기를 쓴 회원들의 주간 칭호를 미리 만들어 두는 배치. (insight.weekly-batch)
+ * <ul>
+ *     <li>대상: 지난주 일기가 있고 이번 주 칭호가 없는 회원을 member_id 키셋 페이지(page-size)로 조회</li>
+ *     <li>생성: 페이지 안에서 concurrency 개씩 AI 호출 (AiFeature.WEEKLY_IDENTITY = BATCH 우선순위라 채팅 한도를 침범하지 않음)</li>
+ *     <li>저장: 페이지 단위 JDBC 배치 upsert (그 사이 조회 API 가 먼저 저장한 회원은 덮어쓰지 않음)</li>
+ *     <li>재개: 페이지를 저장할 때마다 마지막 member_id 를 Redis 에 기록하고, 중단되면 다음 실행이 그 뒤부터 이어감</li>
+ *     <li>마무리: 지난주 일기가 없는 회원의 칭호를 비우고 완료 표시 (이후 실행은 바로 종료)</li>
+ * </ul>
+ * 회원별 생성은 조회 API 의 지연 생성과 같은 single-flight 키를 써서, 동시에 조회가 들어와도 AI 호출은 한 번만 한다.
+ * 배치가 만든 결과는 페이지 upsert 가 끝날 때까지 공유되도록 lock-lease 동안 보관하고, upsert 가 실패하면 지운다.
+ * (결과 보관이 먼저 끝나면 그 뒤의 조회가 칭호를 다시 만들고, 배치가 다른 칭호로 덮어쓰게 됨)
+ * 여러 인스턴스가 동시에 돌지 않도록 Redis 리스 락을 잡고, 체크포인트는 락을 가진 경우에만 기록한다. (펜싱)
+ * 실패한(또는 그 사이 일기를 모두 지운) 회원은 건너뛰고, 조회 시 지연 생성(MemberInsightService.getOrUpdateWeeklyInsight)으로 다시 시도된다.
+ * 메트릭: insight.weekly.batch.members{outcome}, insight.weekly.batch.duration
+ */
+@Slf4j
+@Service
+public class WeeklyInsightBatchService {
+
+    private static final String KEY_PREFIX = "insight:weekly-batch:";
+    private static final DateTimeFormatter WEEK_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(8);
+
+    // 락을 가진 경우에만 커서를 기록하고 리스를 연장
+    private static final RedisScript<Long> CHECKPOINT_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+                redis.call('PEXPIRE', KEYS[1], ARGV[4])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final WeeklyInsightBatchRepository batchRepository;
+    private final MemberInsightService memberInsightService;
+    private final DiaryQueryService diaryQueryService;
+    private final AiService aiService;
+    private final SingleFlight singleFlight;
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker redisCircuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final int concurrency;
+    private final Duration lockLease;
+
+    public WeeklyInsightBatchService(
+            WeeklyInsightBatchRepository batchRepository,
+            MemberInsightService memberInsightService,
+            DiaryQueryService diaryQueryService,
+            AiService aiService,
+            SingleFlight singleFlight,
+            StringRedisTemplate redisTemplate,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker redisCircuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${insight.weekly-batch.page-size:100}") int pageSize,
+            @Value("${insight.weekly-batch.concurrency:3}") int concurrency,
+            @Value("${insight.weekly-batch.lock-lease:30m}") Duration lockLease) {
+        this.batchRepository = batchRepository;
+        this.memberInsightService = memberInsightService;
+        this.diaryQueryService = diaryQueryService;
+        this.aiService = aiService;
+        this.singleFlight = singleFlight;
+        this.redisTemplate = redisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.concurrency = concurrency;
+        this.lockLease = lockLease;
+    }
+
+    /**
+     * 이번 주 배치를 실행(또는 중단된 지점부터 재개)합니다.
+     * 이미 완료했거나 다른 인스턴스가 실행 중이면 바로 끝냅니다. Redis 를 쓸 수 없으면 이번 실행은 건너뜁니다.
+     */
+    public void run() {
+        LocalDate thisMonday = LocalDate.now().with(DayOfWeek.MONDAY);
+        LocalDate from = thisMonday.minusWeeks(1);
+        LocalDate to = from.with(DayOfWeek.SUNDAY);
+        LocalDateTime weekStart = thisMonday.atStartOfDay();
+        String keyPrefix = KEY_PREFIX + thisMonday.format(WEEK_FORMAT) + ":";
+        String lockKey = keyPrefix + "lock";
+        String cursorKey = keyPrefix + "cursor";
+        String doneKey = keyPrefix + "done";
+
+        String token = UUID.randomUUID().toString();
+        long cursor;
+        try {
+            if (Boolean.TRUE.equals(redis(() -> redisTemplate.hasKey(doneKey)))) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(redis(() -> redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockLease)))) {
+                log.info("주간 칭호 배치 - 다른 인스턴스가 실행 중이라 건너뜀");
+                return;
+            }
+            String saved = redis(() -> redisTemplate.opsForValue().get(cursorKey));
+            cursor = saved == null ? 0 : Long.parseLong(saved);
+        } catch (Exception e) {
+            log.warn("주간 칭호 배치 건너뜀 - Redis 사용 불가 (조회 시 지연 생성으로 처리): {}", e.getMessage());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        log.info("주간 칭호 배치 시작 - 기간 {} ~ {}, 재개 위치 member_id > {}", from, to, cursor);
+        int updated = 0;
+        int skipped = 0;
+        try {
+            while (true) {
+                List<Long> memberIds = batchRepository.findPendingDiaryAuthors(cursor, from, to, weekStart, pageSize);
+                if (memberIds.isEmpty()) {
+                    break;
+                }
+
+                List<WeeklyInsightRow> rows = generate(memberIds, from, to, thisMonday);
+                if (!rows.isEmpty()) {
+                    save(rows, weekStart, thisMonday);
+                }
+                updated += rows.size();
+                skipped += memberIds.size() - rows.size();
+                count("updated", rows.size());
+                count("skipped", memberIds.size() - rows.size());
+
+                cursor = memberIds.get(memberIds.size() - 1);
+                if (!checkpoint(lockKey, cursorKey, token, cursor)) {
+                    log.warn("주간 칭호 배치 중단 - 락을 잃음 (member_id {} 까지 저장)", cursor);
+                    return;
+                }
+            }
+
+            int cleared = batchRepository.clearWeeklyInsightsWithoutDiaries(from, to, weekStart, LocalDateTime.now());
+            redis(() -> {
+                redisTemplate.opsForValue().set(doneKey, "1", CHECKPOINT_TTL);
+                return null;
+            });
+            log.info("주간 칭호 배치 완료 - 생성 {}명, 건너뜀 {}명, 일기 없음 {}명", updated, skipped, cleared);
+        } catch (Exception e) {
+            log.error("주간 칭호 배치 실패 - 다음 실행에서 member_id > {} 부터 재개", cursor, e);
+        } finally {
+            sample.stop(meterRegistry.timer("insight.weekly.batch.duration"));
+            release(lockKey, token);
+        }
+    }
+
+    /**
+     * 한 페이지의 칭호를 병렬로 만듭니다. 실패한 회원은 결과에서 빠집니다. (순서 유지)
+     */
+    private List<WeeklyInsightRow> generate(List<Long> memberIds, LocalDate from, LocalDate to, LocalDate thisMonday) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, memberIds.size()),
+                Thread.ofVirtual().name("weekly-insight-", 0).factory())) {
+            List<Future<WeeklyInsightRow>> futures = new ArrayList<>(memberIds.size());
+            for (Long memberId : memberIds) {
+                futures.add(executor.submit(() -> generate(memberId, from, to, thisMonday)));
+            }
+
+            List<WeeklyInsightRow> rows = new ArrayList<>(memberIds.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    rows.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.warn("주간 칭호 생성 실패 - 건너뜀 memberId={}: {}", memberIds.get(i), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("주간 칭호 배치가 중단되었습니다.", e);
+                }
+            }
+            return rows.stream().filter(Objects::nonNull).toList();
+        }
+    }
+
+    /**
+     * 결과는 페이지 upsert 로 저장하므로, 그때까지 같은 칭호가 공유되도록 lock-lease 동안 보관합니다.
+     * (한 페이지가 lock-lease 보다 오래 걸리면 락을 잃고 중단됨)
+     * @return 생성한 칭호 (그 사이 일기가 모두 지워졌으면 null → 마무리 단계에서 비움)
+     */
+    private WeeklyInsightRow generate(Long memberId, LocalDate from, LocalDate to, LocalDate thisMonday) {
+        List<String> diaryContents = diaryQueryService.getDiaryContentsByDateRange(memberId, from, to);
+        if (diaryContents.isEmpty()) {
+            return null;
+        }
+        WeeklyIdentityResponse generated = singleFlight.execute(MemberInsightService.WEEKLY_FLIGHT,
+                MemberInsightService.weeklyFlightKey(memberId, thisMonday),
+                lockLease, WeeklyIdentityResponse.class, () -> {
+                    // 페이지 조회 뒤에 조회 API 가 먼저 만들어 저장했으면 그 값을 그대로 씀
+                    Optional<WeeklyIdentityResponse> stored = memberInsightService.findWeeklyInsight(memberId);
+                    if (stored.isPresent()) {
+                        return stored.get();
+                    }
+                    String rawJsonResponse = aiService.getWeeklyIdentityDraft(memberId, diaryContents);
+                    MemberInsightService.ParsedInsightDto parsed = memberInsightService.parseAiResponse(rawJsonResponse);
+                    return new WeeklyIdentityResponse(parsed.weeklyIdentity(), parsed.weeklyKeyword());
+                });
+        return new WeeklyInsightRow(memberId, generated.weeklyIdentity(), generated.weeklyKeyword());
+    }
+
+    /**
+     * 한 페이지의 칭호를 저장합니다. 실패하면 공유 중인 결과를 지워서, 저장되지 않은 칭호가 조회 API 에 계속 나가지 않게 합니다.
+     */
+    private void save(List<WeeklyInsightRow> rows, LocalDateTime weekStart, LocalDate thisMonday) {
+        try {
+            batchRepository.upsertWeeklyInsights(rows, weekStart, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            rows.forEach(row -> singleFlight.forget(MemberInsightService.WEEKLY_FLIGHT,
+                    MemberInsightService.weeklyFlightKey(row.memberId(), thisMonday)));
+            throw e;
+        }
+    }
+
+    private boolean checkpoint(String lockKey, String cursorKey, String token, long cursor) {
+        try {
+            Long held = redis(() -> redisTemplate.execute(CHECKPOINT_SCRIPT, List.of(lockKey, cursorKey), token,
+                    String.valueOf(cursor), String.valueOf(CHECKPOINT_TTL.toMillis()), String.valueOf(lockLease.toMillis())));
+            return Long.valueOf(1).equals(held);
+        } catch (Exception e) {
+            // 저장은 끝났으므로 계속 진행 (중단되면 이전 커서부터 다시 하지만, 이미 갱신된 회원은 조회 조건에서 빠짐)
+            log.warn("주간 칭호 배치 체크포인트 기록 실패 - 계속 진행: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redis(() -> redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token));
+        } catch (Exception e) {
+            log.warn("주간 칭호 배치 락 반납 실패 - lease 만료 후 해제: {}", e.getMessage());
+        }
+    }
+
+    private <T> T redis(Supplier<T> call) {
+        return redisCircuitBreaker.executeSupplier(call);
+    }
+
+    private void count(String outcome, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("insight.weekly.batch.members", "outcome", outcome).increment(amount);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.buddy.buddyapi.domain.auth.dto.SignUpRequest;
 import com.buddy.buddyapi.domain.character.BuddyCharacter;
 import com.buddy.buddyapi.domain.character.BuddyCharacterService;
 import com.buddy.buddyapi.domain.member.dto.*;
+import com.buddy.buddyapi.domain.member.event.MemberPersonaChangedEvent;
 import com.buddy.buddyapi.domain.member.event.MemberWithdrawEvent;
 import com.buddy.buddyapi.global.exception.BaseException;
 import com.buddy.buddyapi.global.exception.ResultCode;
@@ -92,6 +93,8 @@ public class MemberService {
 
         notificationSettingService.updateOnboardingSettings(memberId, request.isNightAgreed());
 
+        eventPublisher.publishEvent(new MemberPersonaChangedEvent(memberId));
+
     }
 
     /**
@@ -218,6 +221,7 @@ public class MemberService {
 
         member.updateCharacter(newCharacter);
 
+        eventPublisher.publishEvent(new MemberPersonaChangedEvent(memberId));
     }
 
     /**
@@ -231,6 +235,8 @@ public class MemberService {
     public void updateCharacterNickname(Long memberId, String newName) {
         Member member = getMemberById(memberId);
         member.updateCharacterNickname(newName);
+
+        eventPublisher.publishEvent(new MemberPersonaChangedEvent(memberId));
     }
 
     /**
@@ -0,0 +1,9 @@
+package com.buddy.buddyapi.domain.member.event;
+
+/**
+ * 채팅 페르소나(캐릭터, 캐릭터 별명)가 바뀐 회원. 커밋 후 페르소나 캐시를 비운다.
+ */
+public record MemberPersonaChangedEvent(
+        Long memberId
+) {
+}
@@ -1,36 +1,75 @@
 package com.buddy.buddyapi.global.aspect;
 
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Timer} 가 붙은 메서드의 실행 시간을 {@code buddy.method} 타이머로 기록한다.
+ * 태그: class, method, outcome(SUCCESS/ERROR), result_code(ResultCode 코드)
+ * 히스토그램 버킷은 management.metrics.distribution 설정으로 노출된다.
+ */
 @Slf4j
 @Aspect
 @Component
 public class PerformanceAspect {
 
-    @Around("@annotation(com.buddy.buddyapi.global.aspect.Timer)")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private static final String METRIC_NAME = "buddy.method";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+
+    public PerformanceAspect(
+            MeterRegistry meterRegistry,
+            @Value("${metrics.method.slow-threshold:100ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Around("@annotation(timer)")
+    public Object measure(ProceedingJoinPoint joinPoint, Timer timer) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "SUCCESS";
+        String resultCode = ResultCode.SUCCESS.getCode();
 
         // 실제 타겟 메서드 실행
         try {
             return joinPoint.proceed();
+        } catch (BaseException e) {
+            outcome = "ERROR";
+            resultCode = e.getResultCode().getCode();
+            throw e;
+        } catch (Throwable t) {
+            outcome = "ERROR";
+            resultCode = ResultCode.INTERNAL_SERVER_ERROR.getCode();
+            throw t;
         } finally {
-            stopWatch.stop();
-            long elapsed = stopWatch.getTotalTimeMillis();
-            String method = joinPoint.getSignature().toShortString();
-
-            if (elapsed >= 100) {
-                log.warn("[Performance] ⚠️ SLOW | Method: {} | {}ms", method, elapsed);
-            } else {
-                log.info("[Performance] Method: {} | {}ms", method, elapsed);
+            long elapsed = System.nanoTime() - start;
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String methodName = timer.value().isBlank() ? joinPoint.getSignature().getName() : timer.value();
+
+            io.micrometer.core.instrument.Timer.builder(METRIC_NAME)
+                    .description("@Timer 메서드 실행 시간")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("result_code", resultCode)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("[Performance] ⚠️ SLOW | Method: {}.{} | {}ms | {}",
+                        className, methodName, TimeUnit.NANOSECONDS.toMillis(elapsed), resultCode);
             }
         }
-
     }
 }
@@ -10,7 +10,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
@@ -24,14 +25,16 @@ public class AppConfig {
     @Value("${cloudinary.api-secret}")
     private String apiSecret;
 
+    // 부하 테스트 시 스텁 서버로 돌리기 위한 API 주소 (기본: Cloudinary)
+    @Value("${cloudinary.upload-prefix:https://api.cloudinary.com}")
+    private String uploadPrefix;
+
+    @Value("${http-client.clients.cloudinary.read-timeout:30s}")
+    private Duration cloudinaryTimeout;
+
     @PersistenceContext
     private EntityManager entityManager;
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -42,7 +45,9 @@ public class AppConfig {
         return new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
-                "api_secret", apiSecret
+                "api_secret", apiSecret,
+                "upload_prefix", uploadPrefix,
+                "timeout", (int) cloudinaryTimeout.toSeconds() // 업로드 요청 제한 시간(초)
         ));
     }
 
@@ -6,12 +6,14 @@ import com.google.firebase.FirebaseOptions;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.InputStream;
 
 @Slf4j
 @Configuration
+@Profile("!loadtest") // loadtest 는 LoadTestFirebaseConfig 가 스텁 서버로 초기화
 public class FirebaseConfig {
 
     @PostConstruct
@@ -0,0 +1,44 @@
+package com.buddy.buddyapi.global.config;
+
+import com.buddy.buddyapi.global.http.Bulkhead;
+import com.buddy.buddyapi.global.http.HttpClientFactory;
+import com.buddy.buddyapi.global.http.HttpClientProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 업스트림별 전용 HTTP 클라이언트 빈.
+ * 한 업스트림(예: 카카오)이 느려져도 풀과 벌크헤드가 분리되어 있어 OpenAI 호출에 영향을 주지 않는다.
+ * 주입 시 @Qualifier("openAiRestTemplate") 처럼 빈 이름을 지정한다.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public RestTemplate openAiRestTemplate(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.restTemplate("openai");
+    }
+
+    @Bean
+    public RestTemplate kakaoRestTemplate(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.restTemplate("kakao");
+    }
+
+    @Bean
+    public RestTemplate naverRestTemplate(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.restTemplate("naver");
+    }
+
+    @Bean
+    public RestTemplate appleJwksRestTemplate(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.restTemplate("apple-jwks");
+    }
+
+    @Bean
+    public Bulkhead cloudinaryBulkhead(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.bulkhead("cloudinary");
+    }
+}
@@ -0,0 +1,61 @@
+package com.buddy.buddyapi.global.config;
+
+import com.buddy.buddyapi.domain.ai.AiGatewayProperties;
+import com.buddy.buddyapi.domain.ai.AiSchedulerProperties;
+import com.buddy.buddyapi.domain.ai.provider.AiProviderProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 서킷 브레이커 빈.
+ * 상태와 호출 결과는 resilience4j.circuitbreaker.* 메트릭으로 노출된다. (name 태그로 구분)
+ * 주입 시 @Qualifier("redisCircuitBreaker") 처럼 빈 이름을 지정한다.
+ * AI 공급자/모델별 브레이커는 AiGateway 가 같은 레지스트리에서 만든다. (name=공급자:모델)
+ */
+@Configuration
+@EnableConfigurationProperties({AiGatewayProperties.class, AiSchedulerProperties.class, AiProviderProperties.class})
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Redis 호출용 서킷 브레이커.
+     * 실패나 느린 호출이 일정 비율을 넘으면 wait-duration 동안 Redis 호출을 시도하지 않고 바로 거절한다.
+     */
+    @Bean
+    public CircuitBreaker redisCircuitBreaker(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Value("${resilience.redis.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${resilience.redis.slow-call-threshold:300ms}") Duration slowCallThreshold,
+            @Value("${resilience.redis.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${resilience.redis.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${resilience.redis.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState) {
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .build();
+
+        return circuitBreakerRegistry.circuitBreaker("redis", config);
+    }
+}
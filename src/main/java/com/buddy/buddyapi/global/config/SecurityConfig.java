@@ -1,7 +1,9 @@
 package com.buddy.buddyapi.global.config;
 
 import com.buddy.buddyapi.global.security.*;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -23,12 +25,15 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final HandlerExceptionResolver exceptionResolver;
+    private final int managementPort;
 
     public SecurityConfig (
             JwtTokenProvider jwtTokenProvider,
-            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            @Value("${management.server.port}") int managementPort) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.exceptionResolver = exceptionResolver;
+        this.managementPort = managementPort;
     }
 
 
@@ -47,9 +52,14 @@ public class SecurityConfig {
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // SSE(SseEmitter) 완료 시 발생하는 async dispatch는 이미 인증을 통과한 요청이므로 허용
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/images/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // 공개 포트에는 헬스 프로브(/livez, /readyz)만 연다. /actuator/** 는 내부 관리 포트에서만 서빙되고 그 포트는 모두 허용
+                        .requestMatchers("/livez", "/readyz").permitAll()
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                         // OPTIONS 메서드는 CORS Preflight를 위해 모두 허용(OPTIONS 메서드로 들어오는 모든 예비 요청은 '인증 없이' 통과)
                         .requestMatchers(HttpMethod.OPTIONS,"/**").permitAll()
                         .anyRequest().authenticated() // 그 외 모든 요청은 인증 필요
@@ -0,0 +1,73 @@
+package com.buddy.buddyapi.global.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 모드에서 캐리어 스레드 고정(pinning)을 감지하는 모니터.
+ * synchronized 블록 안에서 블로킹 I/O가 일어나면(JDBC 드라이버, Hikari, 외부 라이브러리 등)
+ * 가상 스레드가 캐리어 스레드를 붙잡아 처리량이 플랫폼 스레드 수준으로 떨어지므로,
+ * JFR jdk.VirtualThreadPinned 이벤트를 구독해 임계값 이상 고정된 경우 스택과 함께 경고 로그를 남긴다.
+ * spring.threads.virtual.enabled=true 일 때만 등록된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinned);
+        recordingStream.startAsync();
+        log.info("가상 스레드 pinning 감지 시작 (threshold={}ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void logPinned(RecordedEvent event) {
+        String frames = event.getStackTrace() == null ? "(stack 없음)" :
+                event.getStackTrace().getFrames().stream()
+                        .limit(MAX_FRAMES)
+                        .map(this::formatFrame)
+                        .collect(Collectors.joining("\n\tat "));
+
+        log.warn("⚠️ 가상 스레드 pinning {}ms [{}]\n\tat {}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                frames);
+    }
+
+    private String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
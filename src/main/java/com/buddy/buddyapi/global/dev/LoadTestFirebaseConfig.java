@@ -0,0 +1,60 @@
+package com.buddy.buddyapi.global.dev;
+
+import com.google.api.client.http.javanet.ConnectionFactory;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * loadtest 프로파일 전용 Firebase 초기화.
+ * 서비스 계정 없이 고정 액세스 토큰을 쓰고, FCM 요청(fcm.googleapis.com)을 스텁 서버로 보낸다.
+ * FcmService 코드는 그대로 실행되므로 sendEachForMulticast 경로까지 측정할 수 있다.
+ */
+@Slf4j
+@Configuration
+@Profile("loadtest")
+public class LoadTestFirebaseConfig {
+
+    private static final String PROJECT_ID = "buddy-loadtest";
+
+    @Value("${loadtest.stub-url}")
+    private String stubUrl;
+
+    @PostConstruct
+    public void init() {
+        URI stub = URI.create(stubUrl);
+
+        // 경로(/v1/projects/{id}/messages:send)는 유지하고 호스트만 스텁 서버로 교체
+        ConnectionFactory stubConnectionFactory = url ->
+                (HttpURLConnection) stub.resolve(url.getFile()).toURL().openConnection();
+
+        GoogleCredentials credentials = GoogleCredentials.create(
+                new AccessToken("loadtest", Date.from(Instant.now().plus(Duration.ofDays(365)))));
+
+        FirebaseOptions options = FirebaseOptions.builder()
+                .setCredentials(credentials)
+                .setProjectId(PROJECT_ID)
+                .setHttpTransport(new NetHttpTransport.Builder()
+                        .setConnectionFactory(stubConnectionFactory)
+                        .build())
+                .build();
+
+        if (FirebaseApp.getApps().isEmpty()) {
+            FirebaseApp.initializeApp(options);
+            log.info("Firebase 스텁 연동 완료 - {}", stubUrl);
+        }
+    }
+}
@@ -20,6 +20,10 @@ public enum ResultCode {
     // 429 Too Many Requests : 도배 방지용
     TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "G005", "요청 횟수가 초과되었습니다. 잠시 후 다시 시도해주세요."),
     DATA_INTEGRITY_VIOLATION(HttpStatus.CONFLICT, "G006", "데이터 제약 조건 위반이 발생했습니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "G007", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "G008", "같은 요청을 아직 처리하고 있습니다. 잠시 후 다시 시도해주세요."),
+    SINGLE_FLIGHT_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "G009", "같은 작업을 다른 요청이 처리하고 있습니다. 잠시 후 다시 시도해주세요."),
+    UPSTREAM_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "G010", "외부 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
 
     // --- 인증 및 토큰 관련 (T) ---
@@ -33,6 +37,7 @@ public enum ResultCode {
     UNAUTHORIZED_EMAIL_VERIFICATION(HttpStatus.UNAUTHORIZED, "T008", "이메일 인증이 만료되었거나 올바르지 않습니다."),
     FORBIDDEN(HttpStatus.FORBIDDEN, "T009", "해당 리소스에 접근 권한이 없습니다."),
     APPLE_PUBLIC_KEY_FETCH_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "T010", "Apple 공개키 조회에 실패했습니다."),
+    SOCIAL_PROVIDER_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "T011", "소셜 로그인 서버와 통신할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
 
     // --- 회원/캐릭터 관련 (M) ---
@@ -50,14 +55,20 @@ public enum ResultCode {
     // --- 일기 관련 (D) ---
     DIARY_NOT_FOUND(HttpStatus.NOT_FOUND, "D001", "존재하지 않는 일기입니다."),
     TAG_NOT_FOUND(HttpStatus.NOT_FOUND, "D002", "태그를 찾을 수 없습니다."),
+    DIARY_DRAFT_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "D003", "일기 초안 작업을 찾을 수 없거나 만료되었습니다."),
+    DIARY_DRAFT_JOB_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "D004", "일기 초안 요청이 많아요. 잠시 후 다시 시도해주세요."),
 
     // --- 채팅 관련 (C) ---
     SESSION_NOT_FOUND(HttpStatus.NOT_FOUND, "C001", "특정 세션을 찾을 수 없습니다."),
     SESSION_ALREADY_ENDED(HttpStatus.BAD_REQUEST, "C002", "이미 종료된 세션입니다."),
     EMPTY_CHAT_HISTORY(HttpStatus.NOT_FOUND, "C003", "대화 내역이 없어 일기를 생성할 수 없습니다."),
+    CHAT_TURN_IN_PROGRESS(HttpStatus.CONFLICT, "C004", "이전 메시지에 대한 답변을 만들고 있어요. 잠시 후 다시 보내주세요."),
+    CHAT_STREAM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "C005", "지금은 대화 요청이 많아요. 잠시 후 다시 보내주세요."),
 
     // --- AI 서비스 관련 (A) ---
     AI_PARSE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "A001", "AI 응답을 처리하는 중 오류가 발생했습니다."),
+    AI_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "A002", "AI 서버가 응답하지 않아요. 잠시 후 다시 시도해주세요."),
+    AI_RATE_LIMITED(HttpStatus.SERVICE_UNAVAILABLE, "A003", "지금은 AI 요청이 많아요. 잠시 후 다시 시도해주세요."),
 
     // --- 알림 설정 관련 (N) ---
     NOTIFICATION_SETTING_NOT_FOUND(HttpStatus.NOT_FOUND, "N001", "알림 설정 정보를 찾을 수 없습니다."),
@@ -0,0 +1,63 @@
+package com.buddy.buddyapi.global.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림 하나가 느려져도 다른 업스트림 호출 스레드까지 잡아먹지 않도록
+ * 동시 요청 수를 제한하는 세마포어 기반 벌크헤드.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+
+        Gauge.builder("http.client.bulkhead.in-flight", this, Bulkhead::inFlight)
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.client.bulkhead.rejected")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 자리를 얻을 때까지 acquireTimeout 만큼 대기합니다.
+     * @throws BulkheadFullException 제한 시간 안에 자리를 얻지 못한 경우
+     */
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                log.warn("외부 API 동시 요청 한도 초과: {}", name);
+                throw new BulkheadFullException(name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    private double inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,20 @@
+package com.buddy.buddyapi.global.http;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import lombok.Getter;
+
+/**
+ * 업스트림별 동시 요청 한도(벌크헤드)를 초과해 자리를 얻지 못했을 때 발생하는 예외 (UPSTREAM_BUSY, 503)
+ * 업스트림 장애가 아니므로 AI 게이트웨이의 재시도/폴백/서킷 브레이커 기록 대상이 아니다.
+ */
+@Getter
+public class BulkheadFullException extends BaseException {
+
+    private final String clientName;
+
+    public BulkheadFullException(String clientName) {
+        super(ResultCode.UPSTREAM_BUSY);
+        this.clientName = clientName;
+    }
+}
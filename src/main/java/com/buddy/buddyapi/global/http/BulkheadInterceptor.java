@@ -0,0 +1,78 @@
+package com.buddy.buddyapi.global.http;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RestTemplate 요청마다 벌크헤드 자리를 잡고, 응답 본문을 다 읽고 닫을 때 반납합니다.
+ * (스트리밍 응답도 끝날 때까지 자리를 차지하도록 execute 반환 시점이 아닌 close 시점에 반납)
+ */
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Bulkhead bulkhead;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        bulkhead.acquire();
+        try {
+            return new ReleasingResponse(execution.execute(request, body), bulkhead);
+        } catch (IOException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    private static class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private ReleasingResponse(ClientHttpResponse delegate, Bulkhead bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.buddy.buddyapi.global.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 업스트림 이름(openai, kakao ...)별로 독립된 커넥션 풀/타임아웃/벌크헤드를 가진 RestTemplate 을 만드는 팩토리.
+ * 풀과 벌크헤드 사용량은 client 태그로 Micrometer 에 노출된다.
+ * <ul>
+ *     <li>http.client.pool.leased / available / pending / max : Apache 커넥션 풀 상태</li>
+ *     <li>http.client.bulkhead.in-flight / rejected : 동시 요청 수와 한도 초과 횟수</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpClientFactory implements DisposableBean {
+
+    private static final TimeValue CONNECTION_TTL = TimeValue.ofMinutes(5);
+    private static final TimeValue IDLE_EVICT_TIME = TimeValue.ofSeconds(30);
+
+    private final HttpClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+
+    private final List<AutoCloseable> openedClients = new CopyOnWriteArrayList<>();
+
+    /**
+     * 설정된 업스트림 이름으로 전용 RestTemplate 을 생성합니다.
+     * @param name http-client.clients 하위 키 (예: openai)
+     * @return 풀/타임아웃/벌크헤드가 적용된 RestTemplate
+     */
+    public RestTemplate restTemplate(String name) {
+        HttpClientProperties.Client client = properties.client(name);
+
+        ClientHttpRequestFactory requestFactory = client.protocol() == HttpClientProperties.Protocol.HTTP_2
+                ? http2RequestFactory(client)
+                : pooledRequestFactory(name, client);
+
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(new BulkheadInterceptor(bulkhead(name)))
+                .build();
+    }
+
+    /**
+     * RestTemplate 을 쓰지 않는 SDK(Cloudinary 등) 호출을 감쌀 벌크헤드를 생성합니다.
+     * @param name http-client.clients 하위 키
+     * @return 해당 업스트림의 벌크헤드
+     */
+    public Bulkhead bulkhead(String name) {
+        HttpClientProperties.Client client = properties.client(name);
+        return new Bulkhead(name, client.maxConcurrentRequests(), client.acquireTimeout(), meterRegistry);
+    }
+
+    /**
+     * HTTP/1.1 keep-alive 커넥션 풀 (Apache HttpClient 5)
+     */
+    private ClientHttpRequestFactory pooledRequestFactory(String name, HttpClientProperties.Client client) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.maxConnections())
+                .setMaxConnPerRoute(client.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(client.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(client.readTimeout()))
+                        .setTimeToLive(CONNECTION_TTL)
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(client.acquireTimeout()))
+                        .setResponseTimeout(Timeout.of(client.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_EVICT_TIME)
+                .build();
+        openedClients.add(httpClient);
+
+        registerPoolMetrics(name, connectionManager);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * HTTP/2 (ALPN 협상 실패 시 HTTP/1.1 로 자동 전환) - 하나의 커넥션에서 요청을 멀티플렉싱
+     */
+    private ClientHttpRequestFactory http2RequestFactory(HttpClientProperties.Client client) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(client.connectTimeout())
+                .build();
+        openedClients.add(httpClient);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(client.readTimeout());
+        return requestFactory;
+    }
+
+    private void registerPoolMetrics(String name, PoolingHttpClientConnectionManager connectionManager) {
+        Tags tags = Tags.of("client", name);
+        Gauge.builder("http.client.pool.leased", connectionManager, m -> m.getTotalStats().getLeased())
+                .tags(tags).register(meterRegistry);
+        Gauge.builder("http.client.pool.available", connectionManager, m -> m.getTotalStats().getAvailable())
+                .tags(tags).register(meterRegistry);
+        Gauge.builder("http.client.pool.pending", connectionManager, m -> m.getTotalStats().getPending())
+                .tags(tags).register(meterRegistry);
+        Gauge.builder("http.client.pool.max", connectionManager, m -> m.getTotalStats().getMax())
+                .tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        for (AutoCloseable client : openedClients) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                log.warn("HTTP 클라이언트 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.buddy.buddyapi.global.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 외부 API(업스트림)별 HTTP 클라이언트 설정.
+ * application.yml 의 http-client.clients.{이름} 항목과 매핑된다.
+ */
+@ConfigurationProperties(prefix = "http-client")
+public record HttpClientProperties(
+        Map<String, Client> clients
+) {
+
+    /**
+     * @param protocol              HTTP_2 면 JDK HttpClient(단일 커넥션 멀티플렉싱), HTTP_1_1 이면 Apache 커넥션 풀
+     * @param connectTimeout        TCP/TLS 연결 제한 시간
+     * @param readTimeout           응답 대기(소켓 읽기) 제한 시간
+     * @param maxConnections        커넥션 풀 최대 크기 (HTTP_1_1 전용)
+     * @param maxConcurrentRequests 동시에 진행할 수 있는 최대 요청 수 (벌크헤드)
+     * @param acquireTimeout        벌크헤드/풀에서 자리를 기다리는 최대 시간
+     */
+    public record Client(
+            @DefaultValue("HTTP_1_1") Protocol protocol,
+            @DefaultValue("3s") Duration connectTimeout,
+            @DefaultValue("10s") Duration readTimeout,
+            @DefaultValue("20") int maxConnections,
+            @DefaultValue("20") int maxConcurrentRequests,
+            @DefaultValue("1s") Duration acquireTimeout
+    ) {}
+
+    public enum Protocol {
+        HTTP_1_1, HTTP_2
+    }
+
+    public Client client(String name) {
+        Client client = clients == null ? null : clients.get(name);
+        if (client == null) {
+            throw new IllegalStateException("http-client.clients." + name + " 설정이 없습니다.");
+        }
+        return client;
+    }
+}
@@ -0,0 +1,175 @@
+package com.buddy.buddyapi.global.idempotency;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.buddy.buddyapi.global.singleflight.RedisFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 클라이언트가 보낸 Idempotency-Key 기준으로 같은 요청의 재시도가 AI 호출/DB 저장을 다시 하지 않도록 한다.
+ * <ul>
+ *     <li>키: idem:{scope}:{memberId}:{Idempotency-Key}, 값: "P|지문" (처리 중) / "D|지문|응답 JSON" (완료)</li>
+ *     <li>처음 온 요청이 SET NX 로 처리 중 표시를 남기고 실행, 끝나면 응답을 completed-ttl 동안 저장</li>
+ *     <li>처리 중 표시는 처리하는 동안 계속 연장 (AI 호출이 길어져도 in-flight-ttl 뒤 재시도가 한 번 더 실행하지 않음)</li>
+ *     <li>완료된 키로 재시도 → 저장된 응답을 그대로 반환</li>
+ *     <li>처리 중인 키로 재시도 → 같은 노드면 먼저 온 요청의 결과를 기다리고, 다른 노드면 완료될 때까지 Redis 를 폴링</li>
+ *     <li>원래 요청이 실패하면 키를 지워서 다음 재시도가 새로 실행되도록 함</li>
+ *     <li>같은 키로 내용이 다른 요청이 오면 IDEMPOTENCY_KEY_REUSED</li>
+ * </ul>
+ * 실행권/대기 흐름은 {@link RedisFlight} 를 사용한다. 같은 노드에서는 내용까지 같은 요청끼리만 결과를 나눠 받는다.
+ * Redis 를 쓸 수 없으면 멱등성 보장 없이 그대로 실행한다. (fail-open, 같은 노드 안의 중복만 막음)
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final String PENDING = "P";
+    private static final String DONE = "D";
+    private static final char DELIMITER = '|';
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Duration completedTtl;
+    private final RedisFlight flight;
+
+    public IdempotencyService(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.in-flight-ttl:2m}") Duration inFlightTtl,
+            @Value("${idempotency.completed-ttl:24h}") Duration completedTtl,
+            @Value("${idempotency.wait-timeout:70s}") Duration waitTimeout,
+            @Value("${idempotency.poll-interval:200ms}") Duration pollInterval) {
+        this.objectMapper = objectMapper;
+        this.completedTtl = completedTtl;
+        this.flight = new RedisFlight(redisTemplate, circuitBreaker, meterRegistry,
+                "idempotency.requests", "scope", ResultCode.IDEMPOTENCY_REQUEST_IN_PROGRESS,
+                inFlightTtl, waitTimeout, pollInterval);
+    }
+
+    /**
+     * Idempotency-Key 기준으로 action 을 한 번만 실행합니다.
+     *
+     * @param memberId       요청한 회원 (다른 회원의 키와 섞이지 않도록 키에 포함)
+     * @param scope          엔드포인트 구분 (예: "chat")
+     * @param idempotencyKey 클라이언트가 보낸 키 (null 이면 멱등성 처리 없이 실행)
+     * @param request        요청 본문 (같은 키로 다른 요청이 왔는지 비교)
+     * @param responseType   저장된 응답을 복원할 타입
+     * @param action         실제 처리
+     * @return 처리 결과 (재시도면 처음 요청의 결과)
+     * @throws BaseException 키 형식 오류(INVALID_INPUT), 키 재사용(IDEMPOTENCY_KEY_REUSED),
+     *                       대기 시간 초과(IDEMPOTENCY_REQUEST_IN_PROGRESS)
+     */
+    public <T> T execute(Long memberId, String scope, String idempotencyKey, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BaseException(ResultCode.INVALID_INPUT, HEADER + " 는 1~" + MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+
+        String key = KEY_PREFIX + scope + ":" + memberId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        // 같은 노드에서 내용이 다른 요청은 먼저 온 요청의 결과를 받지 않고 Redis 에서 IDEMPOTENCY_KEY_REUSED 를 받음
+        return flight.execute(scope, key + DELIMITER + fingerprint, key,
+                new IdempotentCall<>(scope, fingerprint, responseType), action);
+    }
+
+    /**
+     * 한 요청의 저장 형식("P|지문" / "D|지문|응답 JSON")과 저장된 값 해석
+     */
+    private class IdempotentCall<T> implements RedisFlight.Call<T> {
+
+        private final String scope;
+        private final String fingerprint;
+        private final Class<T> responseType;
+
+        IdempotentCall(String scope, String fingerprint, Class<T> responseType) {
+            this.scope = scope;
+            this.fingerprint = fingerprint;
+            this.responseType = responseType;
+        }
+
+        @Override
+        public String pendingValue() {
+            return PENDING + DELIMITER + fingerprint;
+        }
+
+        @Override
+        public Optional<T> settled(String stored) {
+            if (!fingerprint.equals(fingerprintOf(stored))) {
+                flight.count(scope, "reused");
+                throw new BaseException(ResultCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            if (stored.startsWith(DONE)) {
+                flight.count(scope, "replayed");
+                return Optional.of(deserialize(stored, responseType));
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public void succeeded(String redisKey, T result) {
+            try {
+                flight.save(redisKey, DONE + DELIMITER + fingerprint + DELIMITER + objectMapper.writeValueAsString(result),
+                        completedTtl);
+            } catch (JsonProcessingException e) {
+                // 응답은 이미 만들어졌으므로 실패로 돌리지 않음. 처리 중 표시는 in-flight-ttl 후 만료
+                log.warn("멱등성 응답 직렬화 실패: {}, {}", redisKey, e.getMessage());
+            }
+        }
+
+        @Override
+        public void failed(String redisKey, RuntimeException e) {
+            // 키를 지워서 다음 재시도가 새로 실행되도록 함
+            flight.delete(redisKey);
+        }
+    }
+
+    private <T> T deserialize(String stored, Class<T> responseType) {
+        int bodyStart = stored.indexOf(DELIMITER, DONE.length() + 1) + 1;
+        try {
+            return objectMapper.readValue(stored.substring(bodyStart), responseType);
+        } catch (JsonProcessingException e) {
+            log.error("멱등성 응답 복원 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // "P|지문" 또는 "D|지문|본문" 에서 지문만 추출
+    private static String fingerprintOf(String stored) {
+        int start = stored.indexOf(DELIMITER) + 1;
+        int end = stored.indexOf(DELIMITER, start);
+        return end < 0 ? stored.substring(start) : stored.substring(start, end);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            return Integer.toHexString(String.valueOf(request).hashCode());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.buddy.buddyapi.global.infra;
 
 import com.google.firebase.messaging.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -8,8 +11,11 @@ import java.util.List;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class FcmService {
 
+    private final MeterRegistry meterRegistry;
+
     /**
      * 단일 대상에게 푸시 알림을 전송합니다.
      *
@@ -35,8 +41,10 @@ public class FcmService {
 
         try {
             String response = FirebaseMessaging.getInstance().send(message);
+            countMessages("single", "success", null, 1);
             log.info("단일 푸시 알림 전송 성공 - messageId: {}", response);
         } catch (FirebaseMessagingException e) {
+            countMessages("single", "failure", e.getMessagingErrorCode(), 1);
             log.error("❌ 단일 푸시 전송 실패 - token: {}, errorCode: {}, message: {}",
                     maskToken(targetToken), e.getMessagingErrorCode(), e.getMessage());
         }
@@ -66,6 +74,7 @@ public class FcmService {
 
         try {
             BatchResponse batchResponse = FirebaseMessaging.getInstance().sendEachForMulticast(message);
+            countMessages("multicast", "success", null, batchResponse.getSuccessCount());
             log.info("대량 푸시 알림 전송 완료! (성공: {}, 실패: {}",
                     batchResponse.getSuccessCount(), batchResponse.getFailureCount());
 
@@ -73,6 +82,7 @@ public class FcmService {
             logFailures(batchResponse, targetTokens);
 
         } catch (FirebaseMessagingException e) {
+            countMessages("multicast", "failure", e.getMessagingErrorCode(), targetTokens.size());
             log.error("❌ 대량 푸시 전송 자체 실패 - errorCode: {}, message: {}",
                     e.getMessagingErrorCode(), e.getMessage());
         }
@@ -95,6 +105,7 @@ public class FcmService {
             SendResponse sendResponse = responses.get(i);
             if (!sendResponse.isSuccessful()) {
                 FirebaseMessagingException exception = sendResponse.getException();
+                countMessages("multicast", "failure", exception != null ? exception.getMessagingErrorCode() : null, 1);
                 log.error("❌ FCM 개별 실패 - index: {}, token: {}, errorCode: {}, message: {}",
                         i,
                         maskToken(targetTokens.get(i)),
@@ -104,13 +115,35 @@ public class FcmService {
         }
     }
 
+    /**
+     * 발송 결과를 fcm.messages 카운터에 누적합니다. (type=single/multicast, result=success/failure, error_code)
+     *
+     * @param type      발송 방식
+     * @param result    성공/실패
+     * @param errorCode 실패 시 FCM 에러 코드 (없으면 UNKNOWN, 성공 시 NONE)
+     * @param count     메시지 수
+     */
+    private void countMessages(String type, String result, MessagingErrorCode errorCode, int count) {
+        if (count <= 0) {
+            return;
+        }
+        String errorTag = "success".equals(result) ? "NONE" : (errorCode != null ? errorCode.name() : "UNKNOWN");
+        Counter.builder("fcm.messages")
+                .description("FCM 푸시 발송 결과")
+                .tag("type", type)
+                .tag("result", result)
+                .tag("error_code", errorTag)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
     /**
      * 로그에 FCM 토큰 전체를 노출하지 않도록 앞 10자리만 반환합니다.
      *
      * @param token FCM 디바이스 토큰
      * @return 마스킹된 토큰 문자열
      */
-    private String maskToken(String token) {
+    static String maskToken(String token) {
         if (token == null || token.length() < 10) return "INVALID_TOKEN";
         return token.substring(0, 10) + "...";
     }
@@ -1,6 +1,7 @@
 package com.buddy.buddyapi.global.infra;
 
 import com.cloudinary.Cloudinary;
+import com.buddy.buddyapi.global.http.Bulkhead;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +17,12 @@ import java.util.Map;
 public class ImageService {
 
     private final Cloudinary cloudinary;
+    private final Bulkhead cloudinaryBulkhead;
 
     public String uploadImage(MultipartFile file) {
         if(file.isEmpty()) return null;
 
+        cloudinaryBulkhead.acquire();
         try {
             // Cloudinary 업로드 호출
             Map uploadResult = cloudinary.uploader().upload(
@@ -33,6 +36,8 @@ public class ImageService {
         } catch (IOException e) {
             log.error("Cloudinary 업로드 실패: {}", e.getMessage());
             throw new RuntimeException("이미지 저장 실패", e);
+        } finally {
+            cloudinaryBulkhead.release();
         }
     }
 
@@ -45,7 +50,12 @@ public class ImageService {
             // 예: https://.../diary_uploads/abc1234.jpg -> diary_uploads/abc1234
             String publicId = extractPublicId(fileUrl);
 
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            cloudinaryBulkhead.acquire();
+            try {
+                cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            } finally {
+                cloudinaryBulkhead.release();
+            }
             log.info("Cloudinary 파일 삭제 성공: {}", publicId);
         } catch (Exception e) {
             log.error("Cloudinary 파일 삭제 실패: {}", e.getMessage());
@@ -0,0 +1,37 @@
+package com.buddy.buddyapi.global.metrics;
+
+import com.buddy.buddyapi.global.common.ApiResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문이 {@link ApiResponse} 인 경우 그 코드(ResultCode)를 요청 속성에 남긴다.
+ * 정상 응답과 GlobalExceptionHandler 의 에러 응답 모두 이 경로를 거치며,
+ * {@link ResultCodeServerRequestObservationConvention} 이 http.server.requests 태그로 사용한다.
+ */
+@RestControllerAdvice
+public class ResultCodeResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String RESULT_CODE_ATTRIBUTE = ResultCodeResponseAdvice.class.getName() + ".resultCode";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(RESULT_CODE_ATTRIBUTE, apiResponse.getCode());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,24 @@
+package com.buddy.buddyapi.global.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * http.server.requests 에 result_code 태그를 추가한다. (ApiResponse 가 아닌 응답은 NONE)
+ * 같은 200 이라도 어떤 ResultCode 가 나갔는지, 같은 4xx 중 어떤 에러가 꼬리 지연을 만드는지 구분하기 위함.
+ */
+@Component
+public class ResultCodeServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String NONE = "NONE";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object resultCode = context.getCarrier().getAttribute(ResultCodeResponseAdvice.RESULT_CODE_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("result_code", resultCode != null ? resultCode.toString() : NONE));
+    }
+}
@@ -40,10 +40,7 @@ public class DailyPushScheduler {
 
         if (targetSettings.isEmpty()) return;
 
-        List<String> targetTokens = targetSettings.stream()
-                .map(setting -> setting.getMember().getPushToken())
-                .filter(token -> token != null && !token.isBlank()) // ✅
-                .toList();
+        List<String> targetTokens = collectPushTokens(targetSettings);
 
         log.info("🌙 발송 대상자 수: {}명", targetTokens.size());
 
@@ -53,4 +50,17 @@ public class DailyPushScheduler {
         fcmService.sendPushBulk(targetTokens, "버디 🐶", randomMessage);
     }
 
+    /**
+     * 알림 설정 목록에서 발송 가능한 FCM 토큰만 추려냅니다. (null/공백 토큰 제외)
+     *
+     * @param targetSettings 발송 대상 알림 설정 목록
+     * @return 발송할 FCM 토큰 목록
+     */
+    static List<String> collectPushTokens(List<NotificationSetting> targetSettings) {
+        return targetSettings.stream()
+                .map(setting -> setting.getMember().getPushToken())
+                .filter(token -> token != null && !token.isBlank())
+                .toList();
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.buddy.buddyapi.global.scheduler;
+
+import com.buddy.buddyapi.domain.insight.WeeklyInsightBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "insight.weekly-batch.enabled", havingValue = "true", matchIfMissing = true)
+public class WeeklyInsightScheduler {
+
+    private final WeeklyInsightBatchService weeklyInsightBatchService;
+
+    /**
+     * 주간 칭호 배치: 월요일 매시 5분마다 실행
+     * - 첫 실행(00:05)에서 대부분 끝나고, 이후 실행은 완료 표시를 보고 바로 종료
+     * - 중간에 죽었으면 다음 실행이 체크포인트부터 재개
+     */
+    @Scheduled(cron = "${insight.weekly-batch.cron:0 5 * * * MON}", zone = "Asia/Seoul")
+    public void precomputeWeeklyInsights() {
+        weeklyInsightBatchService.run();
+    }
+}
@@ -11,7 +11,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -54,9 +53,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // 2. 토큰 유효성 검사 및 인증 처리
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Authentication authentication = jwtTokenProvider.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (token != null) {
+                // 서명 검증과 인증 정보 추출을 한 번에 (재방문 토큰은 캐시 조회로 끝남)
+                jwtTokenProvider.authenticate(token)
+                        .ifPresent(authentication -> SecurityContextHolder.getContext().setAuthentication(authentication));
             }
 
             filterChain.doFilter(request, response);
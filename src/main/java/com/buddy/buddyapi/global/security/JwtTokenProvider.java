@@ -1,5 +1,8 @@
 package com.buddy.buddyapi.global.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -8,9 +11,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -20,14 +29,42 @@ public class JwtTokenProvider {
     private final long accessTokenValidity;
     private final long refreshTokenValidity;
 
+    // 미리 만들어 둔 파서 (불변 객체라 여러 스레드에서 공유 가능)
+    private final JwtParser jwtParser;
+
+    // 토큰 해시 → 인증 주체 캐시. 토큰의 exp 시각에 맞춰 자동 만료
+    private final Cache<String, VerifiedPrincipal> principalCache;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-validity}") long accessTokenValidity,
-            @Value("${jwt.refresh-token-validity}") long refreshTokenValidity
+            @Value("${jwt.refresh-token-validity}") long refreshTokenValidity,
+            @Value("${jwt.principal-cache.max-size:10000}") long principalCacheMaxSize
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.accessTokenValidity = accessTokenValidity;
         this.refreshTokenValidity = refreshTokenValidity;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, VerifiedPrincipal principal, long currentTime) {
+                        long remainingMillis = principal.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, VerifiedPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, VerifiedPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     // Access Token 생성
@@ -52,38 +89,69 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    // 토큰에서 인증 정보 조회
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        // 여기서는 간단하게 memberId(Subject)만 추출하여 사용
-        Long memberId = Long.parseLong(claims.getSubject());
-
-        return new UsernamePasswordAuthenticationToken(
-                memberId,
-                null,
-                List.of()
-        );
+    /**
+     * 토큰을 한 번만 검증(서명 + 만료)하고 인증 정보를 반환합니다.
+     * 이미 검증한 토큰은 해시 조회만으로 처리하며, 캐시는 토큰의 exp 시각에 만료됩니다.
+     *
+     * @param token Access Token
+     * @return 인증 정보 (서명 불일치, 형식 오류 등 유효하지 않은 토큰이면 empty)
+     * @throws ExpiredJwtException 만료된 토큰인 경우 (필터에서 EXPIRED_TOKEN 응답으로 변환)
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String tokenHash = hash(token);
+
+        VerifiedPrincipal cached = principalCache.getIfPresent(tokenHash);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.toAuthentication());
+        }
+
+        Optional<VerifiedPrincipal> verified = verify(token);
+        verified.ifPresent(principal -> principalCache.put(tokenHash, principal));
+        return verified.map(VerifiedPrincipal::toAuthentication);
     }
 
-    // 토큰 유효성 검증
-    public boolean validateToken(String token) {
-        // 에러 발생 시 호출한 Filter로 예외가 그대로 전달됨
+    /**
+     * 캐시 없이 서명과 만료를 검증합니다.
+     */
+    Optional<VerifiedPrincipal> verify(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+
+            // 여기서는 간단하게 memberId(Subject)만 추출하여 사용
+            Long memberId = Long.parseLong(claims.getSubject());
+            return Optional.of(new VerifiedPrincipal(memberId, claims.getExpiration().getTime()));
         } catch (ExpiredJwtException e) {
             log.info("만료된 JWT 토큰입니다.");
             throw e;
         } catch (Exception e) {
             log.info("유효하지 않은 JWT 토큰입니다.");
-            return false;
+            return Optional.empty();
         }
+    }
 
+    // 토큰 유효성 검증
+    public boolean validateToken(String token) {
+        // 에러 발생 시 호출한 Filter로 예외가 그대로 전달됨
+        return verify(token).isPresent();
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 검증이 끝난 토큰의 주체와 만료 시각
+     */
+    record VerifiedPrincipal(Long memberId, long expiresAtMillis) {
+
+        Authentication toAuthentication() {
+            return new UsernamePasswordAuthenticationToken(memberId, null, List.of());
+        }
     }
 
 }
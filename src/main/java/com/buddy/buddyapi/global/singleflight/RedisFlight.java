@@ -0,0 +1,269 @@
+package com.buddy.buddyapi.global.singleflight;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 작업을 노드 안에서는 CompletableFuture 로, 노드 사이에서는 Redis SET NX 로 한 번만 실행하는 공통 흐름.
+ * ({@link SingleFlight}, {@link com.buddy.buddyapi.global.idempotency.IdempotencyService})
+ * <ul>
+ *     <li>노드 안에서 처음 온 호출(리더)만 Redis 로 가고, 같은 로컬 키로 온 호출은 리더의 future 를 기다림</li>
+ *     <li>리더는 SET NX 로 실행권을 잡으면 실행하고, 못 잡으면 저장된 값이 결과가 될 때까지 폴링</li>
+ *     <li>실행하는 동안 lease 의 1/3 마다 실행 중 표시의 만료를 연장 (lease 보다 오래 걸려도 다른 쪽이 실행권을 가져가지 않음)</li>
+ *     <li>리더가 어떤 경로로 끝나든(실행 결과, 공유된 결과, 오류, 대기 시간 초과) 같은 결과로 future 를 완료
+ *         → 기다리던 호출이 wait-timeout 까지 매달리지 않음</li>
+ *     <li>Redis 를 쓸 수 없으면 노드 안에서만 중복을 막고 실행 (fail-open)</li>
+ * </ul>
+ * 저장 형식과 결과 해석은 사용하는 쪽이 {@link Call} 로 정한다.
+ */
+@Slf4j
+public class RedisFlight {
+
+    /**
+     * 한 번의 호출에 대한 저장 형식과 결과 해석.
+     */
+    public interface Call<T> {
+
+        /** 실행권을 잡을 때 남기는 실행 중 표시 */
+        String pendingValue();
+
+        /**
+         * 다른 쪽이 남긴 값을 해석합니다.
+         * @return 완료된 결과. 아직 실행 중이면 Optional.empty()
+         * @throws RuntimeException 실패가 저장되어 있거나 이 호출이 받을 수 없는 값인 경우
+         */
+        Optional<T> settled(String stored);
+
+        /** 실행권을 잡고 실행에 성공한 뒤 결과를 저장합니다. 여기서 던진 예외는 실패로 처리됩니다. */
+        void succeeded(String redisKey, T result);
+
+        /** 실행권을 잡고 실행(또는 결과 저장)에 실패한 뒤 키를 정리합니다. */
+        void failed(String redisKey, RuntimeException e);
+    }
+
+    // 실행 중 표시가 그대로일 때만 만료를 연장 (이미 결과/다른 실행권으로 바뀌었으면 건드리지 않음)
+    private static final RedisScript<Long> EXTEND_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // 모든 RedisFlight 가 함께 쓰는 실행 중 표시 연장용 스레드 (Redis 호출 한 번이라 하나로 충분)
+    private static final ScheduledExecutorService HEARTBEAT = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("redis-flight-heartbeat").daemon(true).factory());
+
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+    private final String metricTag;
+    private final ResultCode timeoutCode;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    // 이 노드에서 리더가 처리 중인 로컬 키
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param metricName   카운터 이름 (outcome 태그: joined / executed / unavailable / timeout + Call 이 남기는 값)
+     * @param metricTag    호출 구분 태그 이름
+     * @param timeoutCode  대기 시간 초과 / 폴링 실패 시 오류
+     * @param lease        실행 중 표시 유지 시간 (실행하는 동안 연장되고, 실행하던 노드가 죽으면 이 시간이 지나 다시 실행 가능)
+     * @param waitTimeout  다른 쪽의 실행을 기다리는 최대 시간
+     * @param pollInterval 다른 노드가 실행 중일 때 Redis 를 확인하는 주기
+     */
+    public RedisFlight(StringRedisTemplate redisTemplate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                       String metricName, String metricTag, ResultCode timeoutCode,
+                       Duration lease, Duration waitTimeout, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+        this.metricTag = metricTag;
+        this.timeoutCode = timeoutCode;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * 같은 키의 작업을 한 번만 실행합니다.
+     * @param tag      메트릭 태그 값
+     * @param localKey 노드 안에서 결과를 나눠 받을 수 있는 호출끼리 같은 키 (보통 redisKey, 요청 내용까지 같아야 하면 그만큼 더 좁게)
+     * @param redisKey 클러스터 전체에서 실행권을 가르는 키
+     * @param call     저장 형식과 결과 해석
+     * @param action   실제 작업
+     * @return 작업 결과 (다른 호출이 실행했으면 그 결과)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String tag, String localKey, String redisKey, Call<T> call, Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(localKey, mine);
+        if (running != null) {
+            count(tag, "joined");
+            return (T) await(running, deadline);
+        }
+
+        try {
+            T result = lead(tag, redisKey, deadline, call, action);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    private <T> T lead(String tag, String redisKey, long deadline, Call<T> call, Supplier<T> action) {
+        while (true) {
+            Boolean acquired;
+            try {
+                acquired = circuitBreaker.executeSupplier(
+                        () -> redisTemplate.opsForValue().setIfAbsent(redisKey, call.pendingValue(), lease));
+            } catch (Exception e) {
+                count(tag, "unavailable");
+                log.warn("Redis 실행권 확인 실패 - 노드 안에서만 중복 방지: {}, {}", redisKey, e.getMessage());
+                return action.get();
+            }
+
+            if (Boolean.TRUE.equals(acquired)) {
+                count(tag, "executed");
+                return runAsOwner(redisKey, call, action);
+            }
+
+            // 다른 노드가 실행 중이거나 이미 끝낸 키
+            String stored = read(redisKey);
+            if (stored == null) {
+                continue; // 그 사이 결과가 만료되었거나 실행하던 쪽이 키를 지움 → 다시 시도
+            }
+            Optional<T> settled = call.settled(stored);
+            if (settled.isPresent()) {
+                return settled.get();
+            }
+            if (System.nanoTime() > deadline) {
+                count(tag, "timeout");
+                throw new BaseException(timeoutCode);
+            }
+            sleep(pollInterval);
+        }
+    }
+
+    private <T> T runAsOwner(String redisKey, Call<T> call, Supplier<T> action) {
+        try {
+            T result = withHeartbeat(redisKey, call.pendingValue(), action);
+            call.succeeded(redisKey, result);
+            return result;
+        } catch (RuntimeException e) {
+            call.failed(redisKey, e);
+            throw e;
+        }
+    }
+
+    /**
+     * action 을 실행하는 동안 실행 중 표시의 만료를 lease 의 1/3 간격으로 lease 만큼 연장합니다.
+     */
+    private <T> T withHeartbeat(String redisKey, String pendingValue, Supplier<T> action) {
+        long interval = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = HEARTBEAT.scheduleAtFixedRate(
+                () -> extend(redisKey, pendingValue), interval, interval, TimeUnit.MILLISECONDS);
+        try {
+            return action.get();
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void extend(String redisKey, String pendingValue) {
+        try {
+            circuitBreaker.executeSupplier(() -> redisTemplate.execute(EXTEND_SCRIPT, List.of(redisKey),
+                    pendingValue, String.valueOf(lease.toMillis())));
+        } catch (Exception e) {
+            log.warn("Redis 실행 중 표시 연장 실패 - 다음 주기에 다시 시도: {}, {}", redisKey, e.getMessage());
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // 리더와 같은 오류를 그대로 돌려줌
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BaseException(ResultCode.INTERNAL_SERVER_ERROR);
+        } catch (TimeoutException e) {
+            throw new BaseException(timeoutCode);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(timeoutCode);
+        }
+    }
+
+    /**
+     * 값을 저장합니다. 결과는 이미 만들어졌으므로 실패해도 예외를 던지지 않습니다. (실행 중 표시는 lease 후 만료)
+     */
+    public void save(String redisKey, String value, Duration ttl) {
+        try {
+            circuitBreaker.executeRunnable(() -> redisTemplate.opsForValue().set(redisKey, value, ttl));
+        } catch (Exception e) {
+            log.warn("Redis 결과 저장 실패: {}, {}", redisKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 키를 지워서 다음 호출이 새로 실행되게 합니다. 실패하면 lease 후 만료됩니다.
+     */
+    public void delete(String redisKey) {
+        try {
+            circuitBreaker.executeRunnable(() -> redisTemplate.delete(redisKey));
+        } catch (Exception e) {
+            log.warn("Redis 키 삭제 실패 - lease 후 만료: {}, {}", redisKey, e.getMessage());
+        }
+    }
+
+    public void count(String tag, String outcome) {
+        meterRegistry.counter(metricName, metricTag, tag, "outcome", outcome).increment();
+    }
+
+    private String read(String redisKey) {
+        try {
+            return circuitBreaker.executeSupplier(() -> redisTemplate.opsForValue().get(redisKey));
+        } catch (Exception e) {
+            log.warn("Redis 키 조회 실패: {}, {}", redisKey, e.getMessage());
+            throw new BaseException(timeoutCode);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(timeoutCode);
+        }
+    }
+}
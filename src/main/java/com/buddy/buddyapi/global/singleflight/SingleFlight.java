@@ -0,0 +1,152 @@
+package com.buddy.buddyapi.global.singleflight;
+
+import com.buddy.buddyapi.global.exception.BaseException;
+import com.buddy.buddyapi.global.exception.ResultCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 비싼 계산(AI 호출 + 저장 등)이 클러스터 전체에서 한 번만 실행되도록 하고, 나머지 호출은 그 결과를 기다려 받는다.
+ * <ul>
+ *     <li>키: sf:{name}:{key}, 값: "P" (실행 중) / "D|결과 JSON" (완료) / "E|ResultCode" (실패)</li>
+ *     <li>같은 노드: 먼저 온 호출의 CompletableFuture 를 기다림 (Redis 왕복 없음)</li>
+ *     <li>다른 노드: SET NX 로 실행권을 잡은 노드만 계산하고, 나머지는 결과가 저장될 때까지 Redis 를 폴링</li>
+ *     <li>완료 결과는 result-ttl 동안만 보관 (그 뒤의 호출은 보통 계산 결과가 저장된 DB 를 읽음)</li>
+ *     <li>BaseException 으로 실패하면 같은 오류를 error-ttl 동안 공유 (실패한 계산을 대기자마다 반복하지 않음)</li>
+ *     <li>실행 중이던 노드가 죽으면 lease 가 지난 뒤 대기자 중 하나가 실행권을 넘겨받음</li>
+ * </ul>
+ * 실행권/대기 흐름은 {@link RedisFlight} 를 사용한다.
+ * Redis 를 쓸 수 없으면 노드 안에서만 중복을 막는다. (fail-open)
+ * 메트릭: single.flight{name,outcome=executed|joined|shared|failed|timeout|unavailable}
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private static final String KEY_PREFIX = "sf:";
+    private static final String PENDING = "P";
+    private static final String DONE = "D";
+    private static final String ERROR = "E";
+    private static final char DELIMITER = '|';
+
+    private final ObjectMapper objectMapper;
+    private final Duration errorTtl;
+    private final RedisFlight flight;
+
+    public SingleFlight(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("redisCircuitBreaker") CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${single-flight.lease:2m}") Duration lease,
+            @Value("${single-flight.error-ttl:5s}") Duration errorTtl,
+            @Value("${single-flight.wait-timeout:70s}") Duration waitTimeout,
+            @Value("${single-flight.poll-interval:200ms}") Duration pollInterval) {
+        this.objectMapper = objectMapper;
+        this.errorTtl = errorTtl;
+        this.flight = new RedisFlight(redisTemplate, circuitBreaker, meterRegistry,
+                "single.flight", "name", ResultCode.SINGLE_FLIGHT_TIMEOUT,
+                lease, waitTimeout, pollInterval);
+    }
+
+    /**
+     * 같은 (name, key) 의 계산을 클러스터 전체에서 한 번만 실행합니다.
+     *
+     * @param name       계산 종류 (메트릭 태그, 예: "weekly-insight")
+     * @param key        중복을 판단할 키 (예: "{memberId}:{주 시작일}")
+     * @param resultTtl  다른 노드의 대기자에게 결과를 공유할 시간
+     * @param resultType 공유된 결과를 복원할 타입 (JSON 직렬화 가능해야 함)
+     * @param action     실제 계산
+     * @return 계산 결과 (다른 호출이 실행했으면 그 결과)
+     * @throws BaseException 실행한 쪽이 실패한 경우 같은 오류, 대기 시간 초과(SINGLE_FLIGHT_TIMEOUT)
+     */
+    public <T> T execute(String name, String key, Duration resultTtl, Class<T> resultType, Supplier<T> action) {
+        String redisKey = KEY_PREFIX + name + ":" + key;
+        return flight.execute(name, redisKey, redisKey, new SharedCall<>(name, resultTtl, resultType), action);
+    }
+
+    /**
+     * 공유 중인 결과를 지워서 다음 호출이 새로 계산하게 합니다.
+     * (결과를 나중에 저장하는 쪽이 저장에 실패했을 때, 저장되지 않은 결과가 계속 공유되지 않도록)
+     */
+    public void forget(String name, String key) {
+        flight.delete(KEY_PREFIX + name + ":" + key);
+    }
+
+    /**
+     * 한 계산의 저장 형식("P" / "D|결과 JSON" / "E|ResultCode")과 저장된 값 해석
+     */
+    private class SharedCall<T> implements RedisFlight.Call<T> {
+
+        private final String name;
+        private final Duration resultTtl;
+        private final Class<T> resultType;
+
+        SharedCall(String name, Duration resultTtl, Class<T> resultType) {
+            this.name = name;
+            this.resultTtl = resultTtl;
+            this.resultType = resultType;
+        }
+
+        @Override
+        public String pendingValue() {
+            return PENDING;
+        }
+
+        @Override
+        public Optional<T> settled(String stored) {
+            if (stored.startsWith(DONE)) {
+                flight.count(name, "shared");
+                return Optional.of(deserialize(stored, resultType));
+            }
+            if (stored.startsWith(ERROR)) {
+                flight.count(name, "failed");
+                throw new BaseException(ResultCode.valueOf(stored.substring(ERROR.length() + 1)));
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public void succeeded(String redisKey, T result) {
+            flight.save(redisKey, DONE + DELIMITER + serialize(result), resultTtl);
+        }
+
+        @Override
+        public void failed(String redisKey, RuntimeException e) {
+            if (e instanceof BaseException be) {
+                flight.save(redisKey, ERROR + DELIMITER + be.getResultCode().name(), errorTtl);
+            } else {
+                flight.delete(redisKey);
+            }
+        }
+    }
+
+    private String serialize(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("single-flight 결과 직렬화 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private <T> T deserialize(String stored, Class<T> resultType) {
+        try {
+            return objectMapper.readValue(stored.substring(DONE.length() + 1), resultType);
+        } catch (JsonProcessingException e) {
+            log.error("single-flight 결과 복원 실패: {}", e.getMessage());
+            throw new BaseException(ResultCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+}